@@ -0,0 +1,80 @@
+package Main;
+
+import java.awt.*;
+import java.awt.image.BufferStrategy;
+
+/**
+ * ActiveRenderSurface
+ * Heavyweight Canvas the game loop draws into directly (active rendering),
+ * bypassing repaint() and the RepaintManager.
+ *
+ * - Uses a 2 or 3 buffer BufferStrategy (page flipping or blitting, whatever the
+ *   platform gives us; both are VolatileImage-backed).
+ * - {@link #present()} redraws while the contents were restored/lost, shows the
+ *   frame and calls Toolkit.sync() so it reaches the screen right away (X11).
+ * - Not focusable: keys keep going to the owning panel.
+ * - Clears the back buffer to black before rendering unless the renderer covers
+ *   every pixel itself ({@link #setClearEachFrame(boolean)}).
+ *
+ * Call present() from the render thread only.
+ */
+public class ActiveRenderSurface extends Canvas {
+
+    public interface FrameRenderer {
+        void render(Graphics2D g, int width, int height);
+    }
+
+    private final int buffers;
+    private final FrameRenderer renderer;
+    private volatile boolean clearEachFrame = true;
+
+    public ActiveRenderSurface(int buffers, FrameRenderer renderer) {
+        this.buffers = Math.max(2, Math.min(3, buffers));
+        this.renderer = renderer;
+        setIgnoreRepaint(true);
+        setFocusable(false);
+        setBackground(Color.BLACK);
+    }
+
+    @Override
+    public void addNotify() {
+        super.addNotify();
+        createBufferStrategy(buffers);
+    }
+
+    /**
+     * Renders and shows one frame.
+     * @return false if the surface can't be drawn right now (not showing / no strategy yet)
+     */
+    public boolean present() {
+        BufferStrategy strategy = getBufferStrategy();
+        int w = getWidth(), h = getHeight();
+        if (strategy == null || !isShowing() || w <= 0 || h <= 0) return false;
+        try {
+            do {
+                do {
+                    Graphics2D g = (Graphics2D) strategy.getDrawGraphics();
+                    try {
+                        if (clearEachFrame) {
+                            g.setColor(Color.BLACK);
+                            g.fillRect(0, 0, w, h);
+                        }
+                        renderer.render(g, w, h);
+                    } finally {
+                        g.dispose();
+                    }
+                    // the back buffer was lost and restored while drawing: draw it again
+                } while (strategy.contentsRestored());
+                strategy.show();
+            } while (strategy.contentsLost());
+        } catch (IllegalStateException e) {
+            // component was removed between the check and the draw
+            return false;
+        }
+        Toolkit.getDefaultToolkit().sync();
+        return true;
+    }
+
+    public int getBufferCount() { return buffers; }
+    public void setClearEachFrame(boolean clearEachFrame) { this.clearEachFrame = clearEachFrame; }
+}
@@ -0,0 +1,65 @@
+package Main;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+
+/**
+ * AnimationSet
+ * One sprite animation (idle, run, jump, dash...) with every frame mirrored
+ * once at load time.
+ *
+ * - frame(index, facingRight) is a plain array lookup, so drawing or sampling a
+ *   left-facing frame never allocates.
+ * - Frames are converted/pre-scaled by ImageAssets when loaded with a size.
+ * - Frames are shared: callers must not draw into them.
+ */
+public class AnimationSet {
+
+    private final BufferedImage[] right;
+    private final BufferedImage[] left;
+
+    // frames face right; the left-facing copies are built here
+    public AnimationSet(BufferedImage[] frames) {
+        if (frames.length == 0) throw new IllegalArgumentException("animation needs at least one frame");
+        this.right = frames.clone();
+        this.left = new BufferedImage[frames.length];
+        for (int i = 0; i < frames.length; i++) left[i] = mirror(frames[i]);
+    }
+
+    /**
+     * Loads count classpath frames named by pattern, e.g.
+     * {@code load("/sprites/GamerGabby/frame%d.png", 7)}.
+     */
+    public static AnimationSet load(String pattern, int count) throws IOException {
+        BufferedImage[] frames = new BufferedImage[count];
+        for (int i = 0; i < count; i++) frames[i] = ImageAssets.prepare(ImageAssets.load(String.format(pattern, i)));
+        return new AnimationSet(frames);
+    }
+
+    // Same, pre-scaled to the size the frames are drawn at
+    public static AnimationSet load(String pattern, int count, int width, int height) throws IOException {
+        BufferedImage[] frames = new BufferedImage[count];
+        for (int i = 0; i < count; i++) frames[i] = ImageAssets.load(String.format(pattern, i), width, height);
+        return new AnimationSet(frames);
+    }
+
+    public BufferedImage frame(int index, boolean facingRight) {
+        return facingRight ? right[index] : left[index];
+    }
+
+    public int length() { return right.length; }
+
+    private static BufferedImage mirror(BufferedImage img) {
+        int w = img.getWidth();
+        int h = img.getHeight();
+        BufferedImage flipped = ImageAssets.createCompatible(w, h);
+
+        Graphics2D g = flipped.createGraphics();
+        g.setComposite(AlphaComposite.Src);
+        g.drawImage(img, 0, 0, w, h, w, 0, 0, h, null);
+        g.dispose();
+
+        return flipped;
+    }
+}
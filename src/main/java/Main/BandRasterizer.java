@@ -0,0 +1,110 @@
+package Main;
+
+import java.awt.*;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * BandRasterizer
+ * Software rasterization of one frame on several cores.
+ *
+ * - The back buffer is split into horizontal bands; each band is a sub-image
+ *   view sharing the back buffer's pixels, so finished bands are composited in
+ *   place (no copy).
+ * - Every band replays the same scene on its own worker, with its Graphics2D
+ *   translated and clipped to the band rows. Java2D rejects the clipped-out
+ *   work, and scene code can cull further with getClipBounds().
+ * - Pays off when alpha compositing dominates (trails, shield, wings,
+ *   GradientPaint beam) on machines without GPU acceleration.
+ * - The scene must be safe to draw from several threads at once: read-only
+ *   frame data, shared caches synchronized.
+ *
+ * -Dmatrixdodger.renderBands=N enables it (N >= 2, usually the core count).
+ */
+public final class BandRasterizer {
+
+    private final int bands;
+    private final ForkJoinPool pool;
+
+    // band views of the current target
+    private BufferedImage viewsOf;
+    private BufferedImage[] views;
+    private int[] bandTop;
+
+    public BandRasterizer(int bands) {
+        this.bands = Math.max(2, bands);
+        this.pool = new ForkJoinPool(this.bands);
+    }
+
+    // null when -Dmatrixdodger.renderBands is unset or < 2
+    public static BandRasterizer fromProperties() {
+        int n = Integer.getInteger("matrixdodger.renderBands", 0);
+        return n >= 2 ? new BandRasterizer(n) : null;
+    }
+
+    /**
+     * Draws scene into target, band by band in parallel; returns when every band is done.
+     * @param world transform from scene coordinates to target pixels
+     */
+    public void render(BufferedImage target, AffineTransform world, LogicalViewport.Scene scene) {
+        if (target != viewsOf) split(target);
+        pool.invoke(new BandTask(world, scene, 0, views.length));
+    }
+
+    private void split(BufferedImage target) {
+        int w = target.getWidth(), h = target.getHeight();
+        int n = Math.min(bands, h);
+        views = new BufferedImage[n];
+        bandTop = new int[n];
+        for (int b = 0; b < n; b++) {
+            int y0 = h * b / n, y1 = h * (b + 1) / n;
+            views[b] = target.getSubimage(0, y0, w, y1 - y0);
+            bandTop[b] = y0;
+        }
+        viewsOf = target;
+    }
+
+    private void renderBand(int b, AffineTransform world, LogicalViewport.Scene scene) {
+        Graphics2D g = views[b].createGraphics();
+        try {
+            g.translate(0, -bandTop[b]);
+            // explicit clip: a sub-image graphics has none, and scene culling reads getClipBounds()
+            g.setClip(0, bandTop[b], views[b].getWidth(), views[b].getHeight());
+            g.transform(world);
+            scene.draw(g);
+        } finally {
+            g.dispose();
+        }
+    }
+
+    private final class BandTask extends RecursiveAction {
+        private final AffineTransform world;
+        private final LogicalViewport.Scene scene;
+        private final int from, to;
+
+        BandTask(AffineTransform world, LogicalViewport.Scene scene, int from, int to) {
+            this.world = world;
+            this.scene = scene;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from == 1) {
+                renderBand(from, world, scene);
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new BandTask(world, scene, from, mid), new BandTask(world, scene, mid, to));
+        }
+    }
+
+    public int getBands() { return bands; }
+
+    public void shutdown() {
+        pool.shutdown();
+    }
+}
@@ -0,0 +1,474 @@
+package Main;
+
+import java.awt.*;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * DrawList
+ * A frame described as a reusable command buffer instead of immediate-mode
+ * Graphics2D calls.
+ *
+ * - Recording sets state (layer, color, alpha, stroke, paint, transform,
+ *   nearest-neighbor image scaling) and
+ *   appends primitive ops (blit, scaled blit, rect/oval/line/triangle, batch).
+ *   Storage is preallocated parallel arrays that only grow; colors, alpha
+ *   composites and strokes come from caches instead of being created per frame.
+ * - {@link #sort()} orders commands by layer, then by graphics state (transform,
+ *   paint, alpha, stroke, image, color), stable in recording order. Layers are the
+ *   ordering contract: commands in the same layer may be reordered, so anything
+ *   whose overlap order matters goes into its own layer.
+ * - {@link #execute} replays the list, switching Graphics2D state only when it
+ *   changes, and may run on several threads at once (band rendering); it never
+ *   allocates per command.
+ * - Batches hand a whole sorted set of blits (projectiles, particles) to their
+ *   owner; they must be safe to run concurrently too. They draw their owner's
+ *   current data, not a copy, so a list is only valid for the frame it was
+ *   recorded for (until the owner's per-frame state moves on). Replaying a
+ *   list in a later frame (benchmarks, recording) is not supported; record the
+ *   rendered back buffer instead.
+ *
+ * Record/sort on one thread; execute from any.
+ */
+public final class DrawList {
+
+    /** Bulk drawing delegated to its owner (drawn with the command's state applied). */
+    public interface Batch {
+        void draw(Graphics2D g);
+    }
+
+    // ops
+    private static final byte BLIT = 0, BLIT_SCALED = 1, FILL_RECT = 2, DRAW_RECT = 3, FILL_OVAL = 4,
+            DRAW_OVAL = 5, DRAW_LINE = 6, FILL_TRIANGLE = 7, BATCH = 8;
+
+    // sort key layout (high to low): layer 7 | transform 6 | paint 3 | alpha 8 | stroke 3 | nearest 1 | image 10 | color 5 | index 20
+    private static final int MAX_LAYER = 127;
+    private static final int MAX_COMMANDS = 1 << 20;
+
+    // shared caches (immutable objects, safe to hand to any thread)
+    private static final AlphaComposite[] COMPOSITES = new AlphaComposite[256];
+    static {
+        for (int i = 0; i < 256; i++) COMPOSITES[i] = AlphaComposite.getInstance(AlphaComposite.SRC_OVER, i / 255f);
+    }
+    private static final BasicStroke[] STROKES = new BasicStroke[8];
+    static {
+        for (int i = 0; i < STROKES.length; i++) STROKES[i] = new BasicStroke(Math.max(1, i));
+    }
+    private static final int COLOR_CACHE_LIMIT = 4096;
+    private final Map<Integer, Color> colorCache = new HashMap<>();
+
+    // ===============================
+    // Command storage
+    // ===============================
+    private int count = 0;
+    private byte[] op = new byte[256];
+    private byte[] layer = new byte[256];
+    private Color[] color = new Color[256];
+    private byte[] alpha = new byte[256];   // 0..255, unsigned
+    private byte[] stroke = new byte[256];
+    private boolean[] nearest = new boolean[256];
+    private short[] transform = new short[256];
+    private short[] paint = new short[256];
+    private short[] image = new short[256];
+    private int[] coords = new int[256 * 6];
+
+    // per-frame object tables (index 0 = none)
+    private final Map<BufferedImage, Integer> imageIds = new IdentityHashMap<>();
+    private BufferedImage[] images = new BufferedImage[64];
+    private int imageCount = 1;
+    private Object[] paints = new Object[8];  // Paint or Batch
+    private int paintCount = 1;
+    private AffineTransform[] transforms = new AffineTransform[16];
+    private int transformCount = 1;
+    // triangle vertices, pooled like transforms (a FILL_TRIANGLE command keeps its index in image[])
+    private int[][] triangleX = new int[8][3], triangleY = new int[8][3];
+    private int triangleCount = 0;
+
+    // sort output
+    private long[] keys = new long[0];
+    private int[] order = new int[256];
+    private boolean sorted = true;
+
+    // recording state
+    private int curLayer = 0;
+    private Color curColor = Color.BLACK;
+    private int curAlpha = 255;
+    private int curStroke = 1;
+    private boolean curNearest = false;
+    private int curPaint = 0;
+    private int curTransform = 0;
+
+    public DrawList() {
+        for (int i = 0; i < transforms.length; i++) transforms[i] = new AffineTransform();
+    }
+
+    // ===============================
+    // Recording: state
+    // ===============================
+    public DrawList layer(int layer) {
+        this.curLayer = Math.max(0, Math.min(MAX_LAYER, layer));
+        return this;
+    }
+
+    public DrawList color(int argb) {
+        Color c = colorCache.get(argb);
+        if (c == null) {
+            if (colorCache.size() >= COLOR_CACHE_LIMIT) colorCache.clear();
+            c = new Color(argb, true);
+            colorCache.put(argb, c);
+        }
+        curColor = c;
+        curPaint = 0;
+        return this;
+    }
+
+    public DrawList color(Color c) {
+        curColor = c;
+        curPaint = 0;
+        return this;
+    }
+
+    public DrawList color(int r, int g, int b, int a) {
+        return color((Math.max(0, Math.min(255, a)) << 24) | (r << 16) | (g << 8) | b);
+    }
+
+    // SRC_OVER composite with this extra alpha (quantized to 1/255)
+    public DrawList alpha(float a) {
+        curAlpha = Math.max(0, Math.min(255, Math.round(a * 255f)));
+        return this;
+    }
+
+    public DrawList stroke(int width) {
+        curStroke = Math.max(1, Math.min(STROKES.length - 1, width));
+        return this;
+    }
+
+    // Nearest-neighbor scaling for the following blits (e.g. stretched solid swatches);
+    // otherwise blits scale with the target's own interpolation hints
+    public DrawList nearest(boolean nearest) {
+        curNearest = nearest;
+        return this;
+    }
+
+    // Gradient or other Paint for the following fills (cleared by color(...))
+    public DrawList paint(Paint p) {
+        curPaint = addObject(p);
+        return this;
+    }
+
+    // Transform for the following commands (copied; null = identity)
+    public DrawList transform(AffineTransform t) {
+        if (t == null || t.isIdentity()) {
+            curTransform = 0;
+            return this;
+        }
+        if (!transforms[transformCount - 1].equals(t)) {
+            if (transformCount == transforms.length) {
+                transforms = Arrays.copyOf(transforms, transformCount * 2);
+                for (int i = transformCount; i < transforms.length; i++) transforms[i] = new AffineTransform();
+            }
+            transforms[transformCount++].setTransform(t);
+        }
+        curTransform = transformCount - 1;
+        return this;
+    }
+
+    // ===============================
+    // Recording: ops
+    // ===============================
+    public void blit(BufferedImage img, int x, int y) {
+        if (img == null) return;
+        int i = add(BLIT);
+        image[i] = (short) imageId(img);
+        setCoords(i, x, y, 0, 0, 0, 0);
+    }
+
+    public void blit(BufferedImage img, int x, int y, int w, int h) {
+        if (img == null) return;
+        int i = add(img.getWidth() == w && img.getHeight() == h ? BLIT : BLIT_SCALED);
+        image[i] = (short) imageId(img);
+        setCoords(i, x, y, w, h, 0, 0);
+    }
+
+    public void fillRect(int x, int y, int w, int h) { setCoords(add(FILL_RECT), x, y, w, h, 0, 0); }
+    public void drawRect(int x, int y, int w, int h) { setCoords(add(DRAW_RECT), x, y, w, h, 0, 0); }
+    public void fillOval(int x, int y, int w, int h) { setCoords(add(FILL_OVAL), x, y, w, h, 0, 0); }
+    public void drawOval(int x, int y, int w, int h) { setCoords(add(DRAW_OVAL), x, y, w, h, 0, 0); }
+    public void drawLine(int x0, int y0, int x1, int y1) { setCoords(add(DRAW_LINE), x0, y0, x1, y1, 0, 0); }
+
+    public void fillTriangle(int x0, int y0, int x1, int y1, int x2, int y2) {
+        int i = add(FILL_TRIANGLE);
+        setCoords(i, x0, y0, x1, y1, x2, y2);
+        if (triangleCount == Short.MAX_VALUE) throw new IllegalStateException("too many triangles in one draw list");
+        if (triangleCount == triangleX.length) {
+            triangleX = Arrays.copyOf(triangleX, triangleCount * 2);
+            triangleY = Arrays.copyOf(triangleY, triangleCount * 2);
+            for (int t = triangleCount; t < triangleX.length; t++) {
+                triangleX[t] = new int[3];
+                triangleY[t] = new int[3];
+            }
+        }
+        int[] xs = triangleX[triangleCount], ys = triangleY[triangleCount];
+        xs[0] = x0; xs[1] = x1; xs[2] = x2;
+        ys[0] = y0; ys[1] = y1; ys[2] = y2;
+        image[i] = (short) triangleCount++;
+    }
+
+    public void batch(Batch b) {
+        int i = add(BATCH);
+        paint[i] = (short) addObject(b);
+    }
+
+    private int add(byte kind) {
+        if (count == MAX_COMMANDS) throw new IllegalStateException("draw list full");
+        if (count == op.length) grow();
+        int i = count++;
+        op[i] = kind;
+        layer[i] = (byte) curLayer;
+        color[i] = curColor;
+        alpha[i] = (byte) curAlpha;
+        stroke[i] = (byte) curStroke;
+        nearest[i] = curNearest;
+        transform[i] = (short) curTransform;
+        paint[i] = (short) curPaint;
+        image[i] = 0;
+        sorted = false;
+        return i;
+    }
+
+    private void setCoords(int i, int a, int b, int c, int d, int e, int f) {
+        int k = i * 6;
+        coords[k] = a;
+        coords[k + 1] = b;
+        coords[k + 2] = c;
+        coords[k + 3] = d;
+        coords[k + 4] = e;
+        coords[k + 5] = f;
+    }
+
+    private int imageId(BufferedImage img) {
+        Integer id = imageIds.get(img);
+        if (id != null) return id;
+        if (imageCount == Short.MAX_VALUE) throw new IllegalStateException("too many images in one draw list");
+        if (imageCount == images.length) images = Arrays.copyOf(images, imageCount * 2);
+        images[imageCount] = img;
+        imageIds.put(img, imageCount);
+        return imageCount++;
+    }
+
+    private int addObject(Object o) {
+        if (o == null) return 0;
+        if (paintCount == Short.MAX_VALUE) throw new IllegalStateException("too many paints in one draw list");
+        if (paintCount == paints.length) paints = Arrays.copyOf(paints, paintCount * 2);
+        paints[paintCount] = o;
+        return paintCount++;
+    }
+
+    private void grow() {
+        int cap = op.length * 2;
+        op = Arrays.copyOf(op, cap);
+        layer = Arrays.copyOf(layer, cap);
+        color = Arrays.copyOf(color, cap);
+        alpha = Arrays.copyOf(alpha, cap);
+        stroke = Arrays.copyOf(stroke, cap);
+        nearest = Arrays.copyOf(nearest, cap);
+        transform = Arrays.copyOf(transform, cap);
+        paint = Arrays.copyOf(paint, cap);
+        image = Arrays.copyOf(image, cap);
+        coords = Arrays.copyOf(coords, cap * 6);
+    }
+
+    // Starts a new frame (keeps the storage)
+    public void clear() {
+        Arrays.fill(color, 0, count, null);
+        Arrays.fill(images, 1, imageCount, null);
+        Arrays.fill(paints, 1, paintCount, null);
+        imageIds.clear();
+        count = 0;
+        imageCount = 1;
+        paintCount = 1;
+        transformCount = 1;
+        triangleCount = 0;
+        curLayer = 0;
+        curColor = Color.BLACK;
+        curAlpha = 255;
+        curStroke = 1;
+        curNearest = false;
+        curPaint = 0;
+        curTransform = 0;
+        sorted = true;
+    }
+
+    // ===============================
+    // Sort
+    // ===============================
+    public void sort() {
+        if (order.length < count) order = new int[op.length];
+        if (sorted) {
+            for (int i = 0; i < count; i++) order[i] = i;
+            return;
+        }
+        if (keys.length < count) keys = new long[op.length];
+        for (int i = 0; i < count; i++) {
+            long key = (long) layer[i] << 56
+                    | (long) Math.min(63, transform[i]) << 50
+                    | (long) Math.min(7, paint[i]) << 47
+                    | (long) (alpha[i] & 0xFF) << 39
+                    | (long) stroke[i] << 36
+                    | (nearest[i] ? 1L << 35 : 0L)
+                    | (long) Math.min(1023, image[i]) << 25
+                    | (long) colorBits(color[i]) << 20
+                    | i;
+            keys[i] = key;
+        }
+        Arrays.sort(keys, 0, count);
+        for (int i = 0; i < count; i++) order[i] = (int) (keys[i] & (MAX_COMMANDS - 1));
+        sorted = true;
+    }
+
+    private static int colorBits(Color c) {
+        int rgb = c.getRGB();
+        return (rgb ^ (rgb >>> 7) ^ (rgb >>> 14) ^ (rgb >>> 21)) & 0x1F;
+    }
+
+    // ===============================
+    // Execute (replayable, thread-safe once sorted)
+    // ===============================
+    public void execute(Graphics2D target) {
+        if (!sorted) throw new IllegalStateException("sort() the draw list before executing it");
+        Graphics2D g = (Graphics2D) target.create();
+        try {
+            AffineTransform base = g.getTransform();
+            int tState = 0, aState = 255, sState = -1, pState = 0;
+            Color cState = null;
+            boolean nState = false;
+            Object interpolation = g.getRenderingHint(RenderingHints.KEY_INTERPOLATION);
+            if (interpolation == null) {
+                interpolation = g.getRenderingHint(RenderingHints.KEY_RENDERING) == RenderingHints.VALUE_RENDER_QUALITY
+                        ? RenderingHints.VALUE_INTERPOLATION_BILINEAR
+                        : RenderingHints.VALUE_INTERPOLATION_NEAREST_NEIGHBOR;
+            }
+            g.setComposite(COMPOSITES[255]);
+
+            for (int k = 0; k < count; k++) {
+                int i = order[k];
+
+                int t = transform[i];
+                if (t != tState) {
+                    g.setTransform(base);
+                    if (t != 0) g.transform(transforms[t]);
+                    tState = t;
+                }
+                int a = alpha[i] & 0xFF;
+                if (a != aState) {
+                    g.setComposite(COMPOSITES[a]);
+                    aState = a;
+                }
+                byte kind = op[i];
+                if (kind == BATCH) {
+                    Graphics2D bg = (Graphics2D) g.create(); // batches may change any state
+                    ((Batch) paints[paint[i]]).draw(bg);
+                    bg.dispose();
+                    continue;
+                }
+                int p = paint[i];
+                if (p != 0) {
+                    if (p != pState) {
+                        g.setPaint((Paint) paints[p]);
+                        pState = p;
+                        cState = null;
+                    }
+                } else if (color[i] != cState || pState != 0) {
+                    g.setColor(color[i]);
+                    cState = color[i];
+                    pState = 0;
+                }
+                int s = stroke[i];
+                if ((kind == DRAW_RECT || kind == DRAW_OVAL || kind == DRAW_LINE) && s != sState) {
+                    g.setStroke(STROKES[s]);
+                    sState = s;
+                }
+
+                if ((kind == BLIT || kind == BLIT_SCALED) && nearest[i] != nState) {
+                    nState = nearest[i];
+                    g.setRenderingHint(RenderingHints.KEY_INTERPOLATION,
+                            nState ? RenderingHints.VALUE_INTERPOLATION_NEAREST_NEIGHBOR : interpolation);
+                }
+
+                int c = i * 6;
+                switch (kind) {
+                    case BLIT -> g.drawImage(images[image[i]], coords[c], coords[c + 1], null);
+                    case BLIT_SCALED -> g.drawImage(images[image[i]], coords[c], coords[c + 1], coords[c + 2], coords[c + 3], null);
+                    case FILL_RECT -> g.fillRect(coords[c], coords[c + 1], coords[c + 2], coords[c + 3]);
+                    case DRAW_RECT -> g.drawRect(coords[c], coords[c + 1], coords[c + 2], coords[c + 3]);
+                    case FILL_OVAL -> g.fillOval(coords[c], coords[c + 1], coords[c + 2], coords[c + 3]);
+                    case DRAW_OVAL -> g.drawOval(coords[c], coords[c + 1], coords[c + 2], coords[c + 3]);
+                    case DRAW_LINE -> g.drawLine(coords[c], coords[c + 1], coords[c + 2], coords[c + 3]);
+                    case FILL_TRIANGLE -> g.fillPolygon(triangleX[image[i]], triangleY[image[i]], 3);
+                    default -> { }
+                }
+            }
+        } finally {
+            g.dispose();
+        }
+    }
+
+    /**
+     * Union of the recorded geometry in recording coordinates (transforms and
+     * stroke widths ignored, batches skipped); empty when nothing was recorded.
+     */
+    public Rectangle bounds(Rectangle out) {
+        int minX = Integer.MAX_VALUE, minY = Integer.MAX_VALUE, maxX = Integer.MIN_VALUE, maxY = Integer.MIN_VALUE;
+        for (int i = 0; i < count; i++) {
+            bounds(i, out);
+            if (out.isEmpty()) continue;
+            minX = Math.min(minX, out.x);
+            minY = Math.min(minY, out.y);
+            maxX = Math.max(maxX, out.x + out.width);
+            maxY = Math.max(maxY, out.y + out.height);
+        }
+        if (maxX < minX) out.setBounds(0, 0, 0, 0);
+        else out.setBounds(minX, minY, maxX - minX, maxY - minY);
+        return out;
+    }
+
+    // Same for the i-th recorded command (recording order); empty for batches
+    public Rectangle bounds(int i, Rectangle out) {
+        int c = i * 6;
+        int x0 = coords[c], y0 = coords[c + 1], x1, y1;
+        switch (op[i]) {
+            case BATCH -> {
+                out.setBounds(0, 0, 0, 0);
+                return out;
+            }
+            case BLIT -> {
+                x1 = x0 + images[image[i]].getWidth();
+                y1 = y0 + images[image[i]].getHeight();
+            }
+            case DRAW_LINE -> {
+                x1 = Math.max(x0, coords[c + 2]);
+                y1 = Math.max(y0, coords[c + 3]);
+                x0 = Math.min(x0, coords[c + 2]);
+                y0 = Math.min(y0, coords[c + 3]);
+            }
+            case FILL_TRIANGLE -> {
+                x1 = Math.max(x0, Math.max(coords[c + 2], coords[c + 4]));
+                y1 = Math.max(y0, Math.max(coords[c + 3], coords[c + 5]));
+                x0 = Math.min(x0, Math.min(coords[c + 2], coords[c + 4]));
+                y0 = Math.min(y0, Math.min(coords[c + 3], coords[c + 5]));
+            }
+            default -> {
+                x1 = x0 + coords[c + 2];
+                y1 = y0 + coords[c + 3];
+            }
+        }
+        out.setBounds(x0, y0, x1 - x0 + 1, y1 - y0 + 1);
+        return out;
+    }
+
+    public int count() { return count; }
+}
@@ -1,54 +1,69 @@
 package Main;
 
-import javax.imageio.ImageIO;
 import javax.swing.*;
 import java.awt.*;
 import java.awt.event.*;
+import java.awt.geom.AffineTransform;
 import java.awt.image.BufferedImage;
-import java.util.ArrayList;
-import java.util.Iterator;
-import java.util.List;
 
 /**
  * GameArena with:
  *  - Camera shake
- *  - Revive particle sparks
+ *  - Particle VFX (revive, hits, projectile deaths, skills)
  *  - Slow-motion effect (by update throttling while slowMotionFrames > 0)
- *  - Glowing wings on revive
+ *  - Glowing wings, beam and pulse on revive (flipbooks baked at startup, see VfxLibrary;
+ *    drawn procedurally until the bake is done)
  *  - Proper paint order (transform applied to everything)
+ *  - Static layers (border, floor) cached in one image that also clears the frame
+ *  - Fixed 1024x768 world rendered into a fixed back buffer, letterbox-scaled to the window
+ *  - Shield, wings and revive beam/pulse as a half-res blurred glow, added in one blit
+ *    under the player (shield, wings) and one over the particles (beam, pulse);
+ *    plain translucent fills in the same places on the low quality tiers
+ *  - Frame recorded into a state-sorted DrawList, replayed once (or per band with
+ *    -Dmatrixdodger.renderBands=N)
+ *  - Effects scaled by the QualityGovernor (trail, ghosts, particles, AA, shake)
+ *  - Paints from a RenderSnapshot the simulation publishes each tick (no live state, no sim lock)
  *
  * Replace your current GameArena with this class.
  */
-public class GameArena extends JPanel {
+public class GameArena extends JPanel implements PresentationSink {
 
     private GameManager manager;
     private Player player; // reference to manager.getPlayer()
 
-    // Physics
-    private int gravity = 1;
-    private int jumpStrength = -20;
-    private int velocityY = 0;
+    // Headless gameplay core (physics, dash, skills); this panel only presents it
+    private Simulation simulation;
+    private final KeyboardInput keyboard = new KeyboardInput();
 
-    // Double jump
-    private int maxJumps = 2;
-    private int jumpsUsed = 0;
+    // Pause System
+    private boolean gamePaused = false;
 
-    // Dash
-    private int dashDistance = 200;
-    private int dashCooldown = 1000;
-    private long lastDashTime = 0;
-    private int dashVelocityX = 0;
-    private int dashDuration = 8;
-    private int dashFramesLeft = 0;
+    // Fixed-timestep loop (own thread); simLock guards the simulation against resize/input
+    private GameLoop gameLoop;
+    private final Object simLock = new Object();
 
-    // Movement State
-    private boolean movingLeft = false;
-    private boolean movingRight = false;
-    private int moveSpeed = 5;
+    // Drawable state handed from the sim thread to the renderer each tick (lock-free, see TripleBuffer)
+    private final TripleBuffer<RenderSnapshot> snapshots = new TripleBuffer<>(RenderSnapshot::new);
+    private final SpriteRegistry sprites = new SpriteRegistry();
+    // Only serializes renderers (EDT paint vs. loop-thread present around pause); the sim never takes it
+    private final Object renderLock = new Object();
 
-    // Pause System
-    private boolean gamePaused = false;
-    private Timer gameLoop;
+    // Render path: "swing" = repaint() (default), "active" = BufferStrategy canvas driven by the loop
+    //   -Dmatrixdodger.renderer=active -Dmatrixdodger.buffers=2|3
+    private static final boolean ACTIVE_RENDERING = "active".equalsIgnoreCase(System.getProperty("matrixdodger.renderer", "swing"));
+    private ActiveRenderSurface activeSurface;
+
+    // World (gameplay) size is fixed; the window only changes how the back buffer is scaled
+    private final LogicalViewport viewport = LogicalViewport.fromProperties(
+            Simulation.DEFAULT_ARENA_WIDTH, Simulation.DEFAULT_ARENA_HEIGHT);
+
+    // Frame/tick time -> effect quality (shared: the preset is global and persisted)
+    private final QualityGovernor quality = QualityGovernor.shared();
+    private QualityGovernor.Tier appliedTier; // sim thread
+
+    // Frame time stats for comparing the render paths (-Dmatrixdodger.frameStats=true prints them)
+    private long frameNanosTotal = 0;
+    private long framesRendered = 0;
 
     // UI
     private int menuButtonXOffset = 65;
@@ -56,38 +71,53 @@ public class GameArena extends JPanel {
     private JButton menuButton;
     private JPanel pauseOverlay;
 
-    // Difficulty Scaling
-    private long startTime = System.currentTimeMillis();
-    private int difficultyLevel = 1; // Used to scale speed and spawn rate
-    private int spawnTimer = 0;
+    private static final int HEART_SIZE = 35;
+    private BufferedImage heartIcon; // pre-scaled to HEART_SIZE
 
-    private BufferedImage heartIcon;
+    // Border + floor (and any future backdrop) at world size, built once; drawn first as the clear
+    private final StaticLayerCache staticLayers = new StaticLayerCache(Color.BLACK);
 
+    // Pre-rasterized projectile looks, drawn as sorted blits (render side only)
+    private final ProjectileRenderer projectileRenderer = new ProjectileRenderer();
+
+    // Tinted copies of ghost/trail/heart frames (render side: used while recording the frame)
+    private final TintCache tintCache = new TintCache();
+
+    // Effect countdowns below are in ticks; the snapshot gets them in 60 Hz frames
     // Heart loss animation
-    private int previousLives = 0; // Will be set in constructor
     private int heartLossAnimationFrames = 0;
 
     // Revive / VFX state
     private int reviveVFXFrames = 0;         // governs beam + explosion visuals
     private int cameraShakeFrames = 0;       // camera shake countdown
     private int cameraShakeIntensity = 12;   // pixels
-    private int slowMotionFrames = 0;        // slow-mo countdown (throttles updates)
-    private int updateTickCounter = 0;       // used for throttling when slow-motion active
 
     SoundManager soundManager = new SoundManager();
 
-    // Particles & wings
-    private final List<ReviveParticle> reviveParticles = new ArrayList<>();
-    private final List<SparkParticle> sparkParticles = new ArrayList<>();
+    // Particles (struct-of-arrays, fixed capacity; see ParticleSystem)
+    private static final int PARTICLE_CAPACITY = 100_000;
+    private final ParticleSystem particles = new ParticleSystem(PARTICLE_CAPACITY);
+    private ParticleEmitter reviveBurst, sparkBurst, hitBurst, debrisBurst, skillBurst;
+    private ParticleEmitter shieldShimmer; // continuous while the shield is up
 
     public GameArena(GameManager gm) {
         this.manager = gm;
         this.player = manager.getPlayer();
-        this.previousLives = player.getLives(); // Initialize previousLives
+
+        // Fixed-timestep simulation (default 60 Hz, -Dmatrixdodger.tickRate=120|240)
+        GameLoop.TickRate rate = GameLoop.TickRate.fromHz(Integer.getInteger("matrixdodger.tickRate", 60));
+        gm.setClock(new GameClock(rate.getStepNanos()));
+        particles.setTickScale(gm.getClock().tickScale());
+
+        simulation = new Simulation(gm);
+        simulation.setArenaSize(viewport.getWorldWidth(), viewport.getWorldHeight());
+        viewport.setRasterizer(BandRasterizer.fromProperties()); // null = single-threaded
+        simulation.setInputSource(keyboard);
+        simulation.setPresentationSink(this);
 
         // load heart safely
         try {
-            heartIcon = ImageIO.read(getClass().getResource("/assets/heart.png"));
+            heartIcon = ImageAssets.load("/assets/heart.png", HEART_SIZE, HEART_SIZE);
         } catch (Exception ex) {
             heartIcon = null;
             System.out.println("Failed to load heart.png (it's optional) — continuing without it.");
@@ -99,12 +129,17 @@ public class GameArena extends JPanel {
         setLayout(null);
 
         setupKeyListener();
+        setupParticles();
+        setupStaticLayers();
+        publishSnapshot(); // something to draw before the first tick
 
-        // 60 FPS-ish loop
-        gameLoop = new Timer(16, e -> {
-            if (!gamePaused) update();
-            else repaint();
-        });
+        if (ACTIVE_RENDERING) {
+            activeSurface = new ActiveRenderSurface(Integer.getInteger("matrixdodger.buffers", 2),
+                    (g, w, h) -> drawFrame(g, w, h));
+            activeSurface.setClearEachFrame(false); // the static layer covers every pixel
+            add(activeSurface);
+        }
+        gameLoop = new GameLoop(rate, this::tick, this::present);
         gameLoop.start();
 
         setupMenuButton();
@@ -112,6 +147,7 @@ public class GameArena extends JPanel {
         addComponentListener(new ComponentAdapter() {
             @Override
             public void componentResized(ComponentEvent e) {
+                if (activeSurface != null) activeSurface.setBounds(0, 0, getWidth(), getHeight());
                 positionMenuButton();
                 if (pauseOverlay != null) positionPauseOverlay();
             }
@@ -129,572 +165,528 @@ public class GameArena extends JPanel {
     }
 
     private void setupKeyListener() {
+        // gameplay keys go to the simulation, this listener only handles pause
+        addKeyListener(keyboard);
         addKeyListener(new KeyAdapter() {
             @Override
             public void keyPressed(KeyEvent e) {
-                if (gamePaused) {
-                    if (e.getKeyCode() == KeyEvent.VK_ESCAPE) closePauseOverlay();
-                    return;
-                }
-
-                int key = e.getKeyCode();
-
-                // If cinematic ultimate active, allow only pause
-                if (manager.isClearSkillActive()) {
-                    if (key == KeyEvent.VK_ESCAPE) openPauseOverlay();
-                    return;
-                }
-
-                if (key == KeyEvent.VK_A || key == KeyEvent.VK_LEFT) {
-                    movingLeft = true;
-                    player.setFacingLeft(true);
-                }
-                else if (key == KeyEvent.VK_D || key == KeyEvent.VK_RIGHT) {
-                    movingRight = true;
-                    player.setFacingLeft(false);
-                }
-                else if (key == KeyEvent.VK_SPACE || key == KeyEvent.VK_UP) {
-                    soundManager.playSound("jump");
-                    if (jumpsUsed < maxJumps) {
-                        velocityY = jumpStrength;
-                        jumpsUsed++;
-                    }
-                }
-                else if (key == KeyEvent.VK_Q) dash();
-                else if (key == KeyEvent.VK_R) manager.tryUseSkill(manager.getSkillR());
-                else if (key == KeyEvent.VK_F) manager.tryUseSkill(manager.getSkillF());
-                else if (key == KeyEvent.VK_V) manager.tryUseSkill(manager.getSkillV());
-                else if (key == KeyEvent.VK_ESCAPE) openPauseOverlay();
-            }
-
-            @Override
-            public void keyReleased(KeyEvent e) {
-                int key = e.getKeyCode();
-                if (key == KeyEvent.VK_A || key == KeyEvent.VK_LEFT) movingLeft = false;
-                if (key == KeyEvent.VK_D || key == KeyEvent.VK_RIGHT) movingRight = false;
-                if (!movingLeft && !movingRight) player.stopRunning();
+                if (e.getKeyCode() != KeyEvent.VK_ESCAPE) return;
+                if (gamePaused) closePauseOverlay();
+                else openPauseOverlay();
             }
         });
     }
 
-    // ================================
-    // DASH
-    // ================================
-    private void dash() {
-        long now = System.currentTimeMillis();
-        if (now - lastDashTime > dashCooldown) {
-            int dir = movingRight ? 1 : (movingLeft ? -1 : (player.isFacingLeft() ? -1 : 1));
-            dashVelocityX = dir * (dashDistance / dashDuration);
-            dashFramesLeft = dashDuration;
-            lastDashTime = now;
-        }
-    }
-
     // ================================
     // UPDATE LOOP
     // ================================
-    private void update() {
-        updateTickCounter++;
-
-        long elapsedSeconds = (System.currentTimeMillis() - startTime) / 1000;
-        difficultyLevel = 1 + (int) (elapsedSeconds / 20);
-
-        player.updateAnimation();
-
-        // handle revive trigger from manager (manager should set revivedThisFrame true for one frame)
-        if (manager.revivedThisFrame) {
-            // spawn revive VFX
-            reviveVFXFrames = 60;            // full VFX time
-            cameraShakeFrames = 20;          // intense shake for a bit
-            slowMotionFrames = 40;           // slow-mo for a short duration (throttling)
-            // spawn lots of particles
-            spawnReviveParticles(40);
-            spawnSparks(24);
-            soundManager.playSound("finalhit"); // or a revive-specific sfx if you have one
-
-            // IMPORTANT: assume GameManager marks this true only for one frame.
-            // If not, manager should reset it — else we'll prevent repeated triggers by clearing it here:
-            // try to be safe: if manager exposes the flag publicly we can clear it (not ideal if private)
-            try {
-                manager.revivedThisFrame = false;
-            } catch (Exception ignore) {}
-        }
-
-        // throttled manager.update for slow-motion: when slowMotionFrames > 0, call update every other tick
-        boolean shouldUpdateManager = true;
-        if (slowMotionFrames > 0) {
-            shouldUpdateManager = (updateTickCounter % 2 == 0);
-            slowMotionFrames--;
-        }
-        if (shouldUpdateManager) manager.update(getWidth(), getHeight());
-
-        // Check for heart loss
-        int currentLives = player.getLives();
-        if (currentLives < previousLives) {
-            heartLossAnimationFrames = 30; // Start animation
-            // small camera nudge on hit
-            cameraShakeFrames = Math.max(cameraShakeFrames, 8);
-            // short invincibility flash handled by player.setInvincible possibly
-        }
-        previousLives = currentLives;
+    // Called by the game loop thread once per fixed step
+    private void tick() {
+        long start = System.nanoTime();
+        synchronized (simLock) {
+            applyQuality();
+            simulation.tick();
+            publishSnapshot();
+        }
+        quality.recordTick(System.nanoTime() - start);
+    }
 
-        // Decrement other animations
-        if (heartLossAnimationFrames > 0) heartLossAnimationFrames--;
-        if (cameraShakeFrames > 0) cameraShakeFrames--;
+    // Pushes the governor's current tier into the sim-side knobs (only when it changed)
+    private void applyQuality() {
+        QualityGovernor.Tier tier = quality.tier();
+        if (tier == appliedTier) return;
+        appliedTier = tier;
+        manager.setTrailLength(tier.trailLength);
+        manager.setMaxBlinkGhosts(tier.maxBlinkGhosts);
+        particles.setSpawnScale(tier.particleScale);
+    }
 
-        // Update particles
-        Iterator<ReviveParticle> rit = reviveParticles.iterator();
-        while (rit.hasNext()) {
-            ReviveParticle rp = rit.next();
-            rp.update();
-            if (rp.life <= 0) rit.remove();
-        }
+    // Copies the drawable state of this tick into the back snapshot and hands it to the renderer
+    private void publishSnapshot() {
+        RenderSnapshot s = snapshots.back();
+        s.capture(simulation, sprites);
+        GameClock clock = manager.getClock();
+        s.captureEffects(clock.toReferenceFrames(cameraShakeFrames), clock.toReferenceFrames(reviveVFXFrames),
+                clock.toReferenceFrames(heartLossAnimationFrames));
+        s.captureParticles(particles);
+        snapshots.publish();
+    }
 
-        Iterator<SparkParticle> sit = sparkParticles.iterator();
-        while (sit.hasNext()) {
-            SparkParticle sp = sit.next();
-            sp.update();
-            if (sp.life <= 0) sit.remove();
-        }
+    // ================================
+    // PresentationSink (called from simulation.tick())
+    // ================================
+    @Override
+    public void onRevive() {
+        // spawn revive VFX
+        GameClock clock = manager.getClock();
+        reviveVFXFrames = clock.scaleFrames(60);   // full VFX time
+        cameraShakeFrames = clock.scaleFrames(20); // intense shake for a bit
+        // spawn lots of particles
+        reviveBurst.setPosition(playerCenterX(), playerCenterY()).burst(particles);
+        sparkBurst.setPosition(playerCenterX(), playerCenterY()).burst(particles);
+        soundManager.playSound("finalhit"); // or a revive-specific sfx if you have one
+    }
 
-        // Physics & Movement
-        velocityY += gravity;
-        applyGravity();
-
-        // Movement - sandevistan speed handled by manager state (we replicate the same movement style)
-        if (manager.isSandevistanActive()) {
-            if (manager.getSandevistanFramesLeft() > 0) {
-                if (movingLeft && dashFramesLeft == 0) {
-                    player.moveLeft();
-                    player.setFacingLeft(true);
-                    player.setX(player.getX() - (int) (moveSpeed * 0.5));
-                }
-                if (movingRight && dashFramesLeft == 0) {
-                    player.moveRight();
-                    player.setFacingLeft(false);
-                    player.setX(player.getX() + (int) (moveSpeed * 0.5));
-                }
-            }
-        } else {
-            if (movingLeft && dashFramesLeft == 0) player.moveLeft();
-            if (movingRight && dashFramesLeft == 0) player.moveRight();
-        }
+    @Override
+    public void onPlayerHit(int x, int y) {
+        hitBurst.setPosition(x, y).burst(particles);
+    }
 
-        // Dash physics
-        if (dashFramesLeft > 0) {
-            player.setX(player.getX() + dashVelocityX);
-            dashFramesLeft--;
-            if (dashFramesLeft == 0) dashVelocityX = 0;
-        }
+    @Override
+    public void onProjectileDestroyed(int x, int y) {
+        debrisBurst.setPosition(x, y).burst(particles);
+    }
 
-        // clamp player
-        clampPlayerPosition();
+    @Override
+    public void onSkillActivated(GameManager.SkillType skill) {
+        skillBurst.setPosition(playerCenterX(), playerCenterY()).burst(particles);
+    }
 
-        repaint();
+    @Override
+    public void onLifeLost(int livesLeft) {
+        GameClock clock = manager.getClock();
+        heartLossAnimationFrames = clock.scaleFrames(30); // Start animation
+        // small camera nudge on hit
+        cameraShakeFrames = Math.max(cameraShakeFrames, clock.scaleFrames(8));
     }
 
-    // spawn revive particles around player
-    private void spawnReviveParticles(int amount) {
-        int cx = player.getX() + player.getWidth() / 2;
-        int cy = player.getY() + player.getHeight() / 2;
-        for (int i = 0; i < amount; i++) {
-            reviveParticles.add(new ReviveParticle(cx, cy));
-        }
+    @Override
+    public void onTick() {
+        // Decrement other animations
+        if (heartLossAnimationFrames > 0) heartLossAnimationFrames--;
+        if (cameraShakeFrames > 0) cameraShakeFrames--;
+        if (reviveVFXFrames > 0) reviveVFXFrames--;
+
+        // Update particles (one batch pass over the SoA buffers)
+        shieldShimmer.setActive(manager.isShieldActive());
+        shieldShimmer.setPosition(playerCenterX(), playerCenterY()).update(particles);
+        particles.update();
     }
 
-    // spawn spark particles (brighter, faster)
-    private void spawnSparks(int amount) {
-        int cx = player.getX() + player.getWidth() / 2;
-        int cy = player.getY() + player.getHeight() / 2;
-        for (int i = 0; i < amount; i++) {
-            sparkParticles.add(new SparkParticle(cx, cy));
-        }
+    private int playerCenterX() { return player.getX() + player.getWidth() / 2; }
+    private int playerCenterY() { return player.getY() + player.getHeight() / 2; }
+
+    // Styles keep the look of the old revive/spark particles; hit/debris/skill are new
+    private void setupParticles() {
+        int revive = particles.registerStyle(new ParticleSystem.Style(28, 30f, 0.06f, 1f, 1.5f, 4.3f, 1f,
+                new Color[]{new Color(180, 120, 255)}, 200, 6f, 6f, true));
+        int spark = particles.registerStyle(new ParticleSystem.Style(20, 20f, 0.08f, 0.96f, 2f, 6.5f, 0f,
+                new Color[]{new Color(255, 200, 60), new Color(255, 120, 255), new Color(120, 220, 255)},
+                255, 2f, 3f, false));
+        int hit = particles.registerStyle(new ParticleSystem.Style(24, 24f, 0.1f, 0.94f, 2f, 6f, 0f,
+                new Color[]{new Color(255, 60, 60), new Color(255, 160, 60)}, 255, 3f, 2f, false));
+        int debris = particles.registerStyle(new ParticleSystem.Style(14, 14f, 0.05f, 0.92f, 1f, 3f, 0f,
+                new Color[]{new Color(255, 0, 0), new Color(255, 120, 120)}, 255, 2f, 1f, false));
+        int skill = particles.registerStyle(new ParticleSystem.Style(30, 30f, 0f, 0.95f, 3f, 5f, 0f,
+                new Color[]{new Color(0, 255, 120), new Color(120, 220, 255)}, 220, 4f, 3f, true));
+        int shield = particles.registerStyle(new ParticleSystem.Style(18, 18f, 0f, 0.9f, 3f, 4f, 0f,
+                new Color[]{new Color(0, 150, 255)}, 200, 3f, 1f, false));
+
+        reviveBurst = ParticleEmitter.burst(revive, 40);
+        sparkBurst = ParticleEmitter.burst(spark, 24);
+        hitBurst = ParticleEmitter.burst(hit, 12);
+        debrisBurst = ParticleEmitter.burst(debris, 6);
+        skillBurst = ParticleEmitter.burst(skill, 30);
+        shieldShimmer = ParticleEmitter.continuous(shield, 0.5f);
     }
 
     // ================================
     // DRAWING (uses manager state for skills)
     // layered & transform-safe
     // ================================
+    private void setupStaticLayers() {
+        // arena border + floor line
+        staticLayers.add((g, w, h) -> {
+            g.setColor(Color.GREEN);
+            g.drawRect(20, 20, w - 40, h - 40);
+            g.drawLine(20, h - 20, w - 20, h - 20);
+        });
+    }
+
     @Override
     protected void paintComponent(Graphics g) {
-        super.paintComponent(g);
+        // no super.paintComponent: the static layer blit is the background clear
+        // in active mode the canvas covers us (except while paused)
+        if (activeSurface != null && activeSurface.isVisible()) return;
+        drawFrame(g, getWidth(), getHeight());
+    }
+
+    // Render callback of the game loop
+    private void present() {
+        if (activeSurface != null && activeSurface.isVisible() && activeSurface.present()) return;
+        repaint();
+    }
 
-        // camera shake offsets
-        int shakeX = 0, shakeY = 0;
-        if (cameraShakeFrames > 0) {
-            shakeX = (int) (Math.random() * cameraShakeIntensity) - cameraShakeIntensity / 2;
-            shakeY = (int) (Math.random() * cameraShakeIntensity) - cameraShakeIntensity / 2;
+    // Draws the latest published snapshot through the viewport; never touches simLock
+    private void drawFrame(Graphics g, int width, int height) {
+        long start = System.nanoTime();
+        synchronized (renderLock) {
+            RenderSnapshot s = snapshots.acquire();
+            float alpha = gameLoop.getInterpolationAlpha();
+            QualityGovernor.Tier tier = quality.tier();
+
+            // per-frame decisions happen once here, so every band replays the same frame
+            int shakeX = 0, shakeY = 0;
+            if (s.cameraShakeFrames > 0 && tier.cameraShake) {
+                shakeX = (int) (Math.random() * cameraShakeIntensity) - cameraShakeIntensity / 2;
+                shakeY = (int) (Math.random() * cameraShakeIntensity) - cameraShakeIntensity / 2;
+            }
+            if (!s.has(RenderSnapshot.CLEAR_SKILL)) projectileRenderer.prepare(s);
+
+            frameList.clear();
+            glowList.clear();
+            overlayGlowList.clear();
+            recordFrame(frameList, tier.glow ? glowList : frameList, tier.glow ? overlayGlowList : frameList,
+                    s, alpha, shakeX, shakeY);
+            frameList.sort();
+            glowLayer.render(glowList);
+            overlayGlowLayer.render(overlayGlowList);
+
+            viewport.present(g, width, height, sg -> {
+                sg.setRenderingHint(RenderingHints.KEY_ANTIALIASING, tier.antialias
+                        ? RenderingHints.VALUE_ANTIALIAS_ON : RenderingHints.VALUE_ANTIALIAS_OFF);
+                sg.setRenderingHint(RenderingHints.KEY_RENDERING, tier.antialias
+                        ? RenderingHints.VALUE_RENDER_QUALITY : RenderingHints.VALUE_RENDER_SPEED);
+                frameList.execute(sg);
+            });
+            long nanos = System.nanoTime() - start;
+            frameNanosTotal += nanos;
+            framesRendered++;
+            quality.recordFrame(nanos);
         }
+    }
 
-        Graphics2D g2 = (Graphics2D) g.create();
-        // apply shake to everything
-        g2.translate(shakeX, shakeY);
+    private void reportFrameStats() {
+        if (!Boolean.getBoolean("matrixdodger.frameStats") || framesRendered == 0) return;
+        System.out.printf("[%s] %d frames, avg %.3f ms/frame%n", ACTIVE_RENDERING ? "active" : "swing",
+                framesRendered, frameNanosTotal / 1e6 / framesRendered);
+    }
+
+    // Draw order: the list sorts by layer, then by state inside a layer, so every
+    // pair whose overlap order matters lives in separate layers
+    private static final int LAYER_BACKGROUND = 0;
+    private static final int LAYER_TARGETS = 1;
+    private static final int LAYER_PULSE = 2;
+    private static final int LAYER_PROJECTILES = 3;
+    private static final int LAYER_GHOSTS = 4;
+    private static final int LAYER_DASH = 5;
+    private static final int LAYER_TRAIL = 6;
+    private static final int LAYER_TIME_STOP = 7;
+    private static final int LAYER_GLOW = 8;          // .. 10: the glow blit, or the GLOW_* effects drawn plainly
+    private static final int LAYER_SHIELD_RING = 13;
+    private static final int LAYER_PLAYER = 14;
+    private static final int LAYER_PARTICLES = 15;
+    private static final int LAYER_OVERLAY_GLOW = 16; // .. 17: the overlay glow blit, or the OVERLAY_* effects
+    private static final int LAYER_HEART_GLOW = 18;
+    private static final int LAYER_HEARTS = 19;
+    private static final int LAYER_HEART_FLASH = 20;
+
+    // Soft effect layers: in a glow list, or offset by its LAYER_* base in the frame list
+    private static final int GLOW_SHIELD = 0;
+    private static final int GLOW_WINGS = 1;
+    private static final int GLOW_WING_HALO = 2;      // procedural wings only
+    private static final int OVERLAY_BEAM = 0;
+    private static final int OVERLAY_PULSE = 1;
+
+    // Reused every frame (render side)
+    private final DrawList frameList = new DrawList();
+    private final DrawList glowList = new DrawList();
+    private final GlowLayer glowLayer = GlowLayer.fromProperties(
+            viewport.getWorldWidth(), viewport.getWorldHeight());
+    private final DrawList overlayGlowList = new DrawList();
+    private final GlowLayer overlayGlowLayer = GlowLayer.fromProperties(
+            viewport.getWorldWidth(), viewport.getWorldHeight());
+    private final AffineTransform shakeTransform = new AffineTransform();
+    private final AffineTransform playerTransform = new AffineTransform();
+
+    private static final Color TARGET_COLOR = new Color(255, 0, 255, 150);
+    private static final Color SHIELD_FILL = new Color(0, 100, 255, 127);
+    private static final Color SHIELD_RING = new Color(0, 150, 255);
+    private static final Color REVIVE_PULSE_TINT = new Color(200, 200, 255);
+    private static final Color WING_GLOW = new Color(255, 255, 255, 60);
+
+    // Baked flipbook effects (wings, beam, pulse, time-stop flash)
+    private final VfxLibrary vfx = VfxLibrary.shared();
+
+    // Records one frame of s in world coordinates (render thread only; the list is
+    // then replayed by the viewport, once per band when band rendering is on).
+    // Soft effects go to glow (under the player) or overlay (over the particles), in
+    // unshaken world coordinates, and each comes back as one blit; on tiers without
+    // glow, glow == overlay == d and they are plain translucent fills.
+    // (camera shake is off on low tiers: saves the offset clear + blit)
+    private void recordFrame(DrawList d, DrawList glow, DrawList overlay, RenderSnapshot s, float renderAlpha,
+                             int shakeX, int shakeY) {
+        int glowBase = glow == d ? LAYER_GLOW : 0;
+        int overlayBase = overlay == d ? LAYER_OVERLAY_GLOW : 0;
 
         // ================================
-        // 1. Arena Border
+        // 1. Static layers: clear + arena border (shaken with everything else)
         // ================================
-        g2.setColor(Color.GREEN);
-        g2.drawRect(20, 20, getWidth() - 40, getHeight() - 40);
-        g2.drawLine(20, getHeight() - 20, getWidth() - 20, getHeight() - 20);
+        int worldW = viewport.getWorldWidth(), worldH = viewport.getWorldHeight();
+        d.layer(LAYER_BACKGROUND);
+        staticLayers.record(d, shakeX, shakeY, worldW, worldH);
+
+        // apply shake to everything
+        shakeTransform.setToTranslation(shakeX, shakeY);
+        d.transform(shakeTransform);
+
+        // effects attached to the player follow the interpolated sprite, not the latest tick
+        int playerW = s.playerWidth, playerH = s.playerHeight;
+        int prx = s.playerRenderX(renderAlpha), pry = s.playerRenderY(renderAlpha);
+        int playerCX = prx + playerW / 2;
+        int playerCY = pry + playerH / 2;
+        // read once so a bake finishing mid-record can't mix procedural and baked effects
+        boolean baked = vfx.isReady();
 
         // ================================
         // 2. Projectiles OR Clear Skill Cinematic
         // ================================
-        if (manager.isClearSkillActive()) {
-            Graphics2D gC = (Graphics2D) g2.create();
-            gC.setColor(new Color(255, 0, 255, 150));
-
-            List<Projectile> clearTargets = manager.getClearTargets();
-            int startIndex = manager.getClearTargetIndex();
-
-            for (int i = startIndex; i < clearTargets.size(); i++) {
-                Projectile t = clearTargets.get(i);
-                int size = t.getSize();
-                gC.drawRect((int) t.getX(), (int) t.getY(), size, size);
-                gC.drawLine((int) t.getX(), (int) t.getY(), (int) t.getX() + size, (int) t.getY() + size);
+        if (s.has(RenderSnapshot.CLEAR_SKILL)) {
+            d.layer(LAYER_TARGETS).color(TARGET_COLOR).alpha(1f).stroke(1);
+
+            for (int i = 0; i < s.targetCount; i++) {
+                int tx = s.targetX[i], ty = s.targetY[i], size = s.targetSize[i];
+                d.drawRect(tx, ty, size, size);
+                d.drawLine(tx, ty, tx + size, ty + size);
             }
-            gC.dispose();
 
             // explosion pulse
-            if (manager.getClearSequenceStep() == 2 && manager.getCurrentTargetDestroyFramesLeft() > 0) {
-                Graphics2D g3 = (Graphics2D) g2.create();
-                float alpha = (float) manager.getCurrentTargetDestroyFramesLeft() / 2f;
+            if (s.pulseAlpha > 0f) {
                 int pulseSize = 30;
-                g3.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, alpha));
-                g3.setColor(Color.WHITE);
-                g3.fillOval(player.getX() + player.getWidth() / 2 - pulseSize / 2,
-                        player.getY() + player.getHeight() / 2 - pulseSize / 2,
-                        pulseSize, pulseSize);
-                g3.dispose();
+                d.layer(LAYER_PULSE).alpha(Math.min(1f, s.pulseAlpha)).color(Color.WHITE);
+                d.fillOval(playerCX - pulseSize / 2, playerCY - pulseSize / 2, pulseSize, pulseSize);
             }
 
         } else {
-            for (Projectile p : manager.getProjectiles()) p.draw(g2);
+            d.layer(LAYER_PROJECTILES).alpha(1f);
+            d.batch(g -> projectileRenderer.draw(g, s, renderAlpha));
         }
 
         // ================================
         // 3. Blink Ghosts
         // ================================
-        if (!manager.getBlinkGhosts().isEmpty()) {
-            Graphics2D gB = (Graphics2D) g2.create();
-            for (GameManager.BlinkGhost ghost : manager.getBlinkGhosts()) {
-                if (ghost.image != null) {
-                    BufferedImage tinted = new BufferedImage(ghost.image.getWidth(), ghost.image.getHeight(), BufferedImage.TYPE_INT_ARGB);
-                    Graphics2D tg = tinted.createGraphics();
-                    tg.drawImage(ghost.image, 0, 0, null);
-
-                    tg.setComposite(AlphaComposite.SrcAtop);
-                    tg.setColor(Color.CYAN);
-                    tg.fillRect(0, 0, tinted.getWidth(), tinted.getHeight());
-                    tg.dispose();
-
-                    gB.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, ghost.alpha));
-                    gB.drawImage(tinted, ghost.x, ghost.y, player.getWidth(), player.getHeight(), null);
-                }
-            }
-            gB.dispose();
+        d.layer(LAYER_GHOSTS);
+        for (int i = 0; i < s.ghostCount; i++) {
+            BufferedImage tinted = tintCache.get(sprites.get(s.ghostSprite[i]), Color.CYAN, 1f);
+            d.alpha(s.ghostAlpha[i]);
+            d.blit(tinted, s.ghostX[i], s.ghostY[i], playerW, playerH);
         }
 
         // ================================
         // 4. Dash Ghost
         // ================================
-        if (dashFramesLeft > 0 && !manager.isClearSkillActive()) {
-            Graphics2D gD = (Graphics2D) g2.create();
-            gD.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, 0.35f));
-            gD.drawImage(player.getCurrentFrame(),
-                    player.getX() - dashVelocityX,
-                    player.getY(),
-                    player.getWidth(),
-                    player.getHeight(),
-                    null);
-            gD.dispose();
+        if (s.has(RenderSnapshot.DASH_GHOST)) {
+            d.layer(LAYER_DASH).alpha(0.35f);
+            d.blit(sprites.get(s.playerSprite), s.playerX - s.dashOffsetX, s.playerY, playerW, playerH);
         }
 
         // ================================
         // 5. Sandevistan Trail
         // ================================
-        if (manager.isSandevistanActive() ||
-                (manager.isClearSkillActive() && manager.getClearSequenceStep() == 1)) {
-
-            Graphics2D gTrail = (Graphics2D) g2.create();
-            float baseAlpha = manager.isClearSkillActive() ? 0.7f : 0.5f;
-            gTrail.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, baseAlpha));
-
-            BufferedImage[] trailFrames = manager.getTrailFrames();
-            int[][] trailPositions = manager.getTrailPositions();
-            int TRAIL_SIZE = manager.getTrailSize();
-
-            for (int i = 0; i < TRAIL_SIZE; i++) {
-                if (trailFrames[i] != null) {
-                    BufferedImage tinted = new BufferedImage(trailFrames[i].getWidth(), trailFrames[i].getHeight(), BufferedImage.TYPE_INT_ARGB);
-                    Graphics2D tg = tinted.createGraphics();
-
-                    tg.drawImage(trailFrames[i], 0, 0, null);
-                    tg.setComposite(AlphaComposite.SrcAtop.derive(0.7f));
-
-                    Color tintColor = manager.isClearSkillActive() ? Color.MAGENTA : getRainbowColor(i);
-                    tg.setColor(tintColor);
-                    tg.fillRect(0, 0, tinted.getWidth(), tinted.getHeight());
-                    tg.dispose();
-
-                    gTrail.drawImage(tinted,
-                            trailPositions[i][0],
-                            trailPositions[i][1],
-                            player.getWidth(),
-                            player.getHeight(),
-                            null);
-                }
+        if (s.has(RenderSnapshot.TRAIL)) {
+            boolean clearSkill = s.has(RenderSnapshot.CLEAR_SKILL);
+            d.layer(LAYER_TRAIL).alpha(clearSkill ? 0.7f : 0.5f);
+
+            for (int i = 0; i < s.trailCount; i++) {
+                Color tintColor = clearSkill ? Color.MAGENTA : getRainbowColor(s.clockMillis, s.trailSlot[i]);
+                BufferedImage tinted = tintCache.get(sprites.get(s.trailSprite[i]), tintColor, 0.7f);
+                d.blit(tinted, s.trailX[i], s.trailY[i], playerW, playerH);
             }
-            gTrail.dispose();
         }
 
         // ================================
         // 6. Shield
         // ================================
-        if (manager.isShieldActive()) {
-            Graphics2D gSh = (Graphics2D) g2.create();
-            float shieldAlpha = 0.5f;
-
-            gSh.setColor(new Color(0, 100, 255, (int) (255 * shieldAlpha)));
-            gSh.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, shieldAlpha));
-            gSh.setStroke(new BasicStroke(3));
-
-            int shieldRadius = Math.max(player.getWidth(), player.getHeight()) / 2 + 15;
+        if (s.has(RenderSnapshot.SHIELD)) {
+            int shieldRadius = Math.max(playerW, playerH) / 2 + 15;
             int diameter = shieldRadius * 2;
 
-            int sx = player.getX() + player.getWidth() / 2 - shieldRadius;
-            int sy = player.getY() + player.getHeight() / 2 - shieldRadius;
+            int sx = playerCX - shieldRadius;
+            int sy = playerCY - shieldRadius;
 
-            gSh.fillOval(sx, sy, diameter, diameter);
-            gSh.setColor(new Color(0, 150, 255));
-            gSh.drawOval(sx, sy, diameter, diameter);
-
-            gSh.dispose();
+            glow.layer(glowBase + GLOW_SHIELD).alpha(0.5f).color(SHIELD_FILL);
+            glow.fillOval(sx, sy, diameter, diameter);
+            d.layer(LAYER_SHIELD_RING).alpha(0.5f).color(SHIELD_RING).stroke(3);
+            d.drawOval(sx, sy, diameter, diameter);
         }
 
         // ================================
         // 7. Time Stop Flash
         // ================================
-        if (manager.isTimeStopActive() && manager.getFlashingFramesLeft() > 0) {
-            Graphics2D gTS = (Graphics2D) g2.create();
-            float flashAlpha = (float) (0.5 + 0.5 * Math.sin(System.currentTimeMillis() / 20.0));
-
-            gTS.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, flashAlpha));
-            gTS.setColor(getRainbowColor(0));
-            gTS.fillRect(20, 20, getWidth() - 40, getHeight() - 40);
-
-            gTS.dispose();
+        if (s.has(RenderSnapshot.TIME_STOP_FLASH) && !baked) {
+            float flashAlpha = (float) (0.5 + 0.5 * Math.sin(s.clockMillis / 20.0));
+            d.layer(LAYER_TIME_STOP).alpha(flashAlpha).color(getRainbowColor(s.clockMillis, 0));
+            d.fillRect(20, 20, worldW - 40, worldH - 40);
+        } else if (s.has(RenderSnapshot.TIME_STOP_FLASH)) {
+            float flashAlpha = (float) (0.5 + 0.5 * Math.sin(s.clockMillis / 20.0));
+            BufferedImage flash = tintCache.get(vfx.timeStopFlash().frame(flashAlpha),
+                    getRainbowColor(s.clockMillis, 0), 1f);
+            // solid swatch: nearest scaling is exact and skips the bilinear filter
+            d.layer(LAYER_TIME_STOP).alpha(1f).nearest(true);
+            d.blit(flash, 20, 20, worldW - 40, worldH - 40);
+            d.nearest(false);
         }
 
         // ================================
         // 8. GLOWING WINGS (draw behind player but after trails)
         // ================================
-        if (reviveVFXFrames > 0) {
-            Graphics2D gW = (Graphics2D) g2.create();
-            float wingAlpha = Math.min(1f, reviveVFXFrames / 60f);
-            gW.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, 0.5f * wingAlpha));
-            int cx = player.getX() + player.getWidth() / 2;
-            int cy = player.getY() + player.getHeight() / 2;
-            int wingW = player.getWidth() + 40;
-            int wingH = player.getHeight() + 30;
-
-            // Left wing
-            gW.setColor(new Color(200, 100, 255, (int) (220 * wingAlpha)));
-            int[] lx = new int[]{cx - 10, cx - wingW / 2, cx - wingW / 2 - 20};
-            int[] ly = new int[]{cy - 10, cy - wingH / 2, cy + wingH / 3};
-            gW.fillPolygon(lx, ly, 3);
-
-            // Right wing
-            gW.setColor(new Color(100, 200, 255, (int) (200 * wingAlpha)));
-            int[] rx = new int[]{cx + 10, cx + wingW / 2, cx + wingW / 2 + 20};
-            int[] ry = new int[]{cy - 10, cy - wingH / 2, cy + wingH / 3};
-            gW.fillPolygon(rx, ry, 3);
-
-            // soft glow overlay
-            gW.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, 0.2f * wingAlpha));
-            gW.setColor(new Color(255, 255, 255, 60));
-            gW.fillOval(cx - wingW, cy - wingH / 2, wingW * 2, wingH);
-
-            gW.dispose();
+        if (s.reviveVFXFrames > 0 && !baked) {
+            // procedural wings until the flipbooks are baked
+            float wingAlpha = Math.min(1f, s.reviveVFXFrames / 60f);
+            int wingW = playerW + 40;
+            int wingH = playerH + 30;
+            glow.layer(glowBase + GLOW_WINGS).alpha(0.5f * wingAlpha);
+            glow.color(200, 100, 255, (int) (220 * wingAlpha));
+            glow.fillTriangle(playerCX - 10, playerCY - 10, playerCX - wingW / 2, playerCY - wingH / 2,
+                    playerCX - wingW / 2 - 20, playerCY + wingH / 3);
+            glow.color(100, 200, 255, (int) (200 * wingAlpha));
+            glow.fillTriangle(playerCX + 10, playerCY - 10, playerCX + wingW / 2, playerCY - wingH / 2,
+                    playerCX + wingW / 2 + 20, playerCY + wingH / 3);
+            glow.layer(glowBase + GLOW_WING_HALO).alpha(0.2f * wingAlpha).color(WING_GLOW);
+            glow.fillOval(playerCX - wingW, playerCY - wingH / 2, wingW * 2, wingH);
+        } else if (s.reviveVFXFrames > 0) {
+            float wingAlpha = Math.min(1f, s.reviveVFXFrames / 60f);
+            // baked at the 64x64 player size: wings span player + 40 by player + 30
+            VfxFlipbook wings = vfx.reviveWings();
+            float scaleX = (playerW + 40) / (float) (VfxLibrary.WING_REFERENCE_WIDTH + 40);
+            float scaleY = (playerH + 30) / (float) (VfxLibrary.WING_REFERENCE_HEIGHT + 30);
+            glow.layer(glowBase + GLOW_WINGS).alpha(1f);
+            wings.record(glow, wings.frame(wingAlpha), playerCX, playerCY, scaleX, scaleY);
         }
 
         // ================================
-        // 9. PLAYER (ALWAYS ON TOP)
+        // 8b. Glow layer (shield, wings) added in one blit, under the player
         // ================================
-        Graphics2D gPlayer = (Graphics2D) g2.create();
-
-        if (manager.isClearSkillActive()) {
-            gPlayer.translate(player.getX() + player.getWidth() / 2,
-                    player.getY() + player.getHeight() / 2);
-            gPlayer.rotate(manager.getCurrentTiltAngle() + Math.PI / 2);
-            gPlayer.translate(-(player.getX() + player.getWidth() / 2),
-                    -(player.getY() + player.getHeight() / 2));
+        if (glow != d) {
+            d.layer(LAYER_GLOW).alpha(1f);
+            d.batch(glowLayer::composite);
         }
 
-        player.draw(gPlayer);
-        gPlayer.dispose();
-
         // ================================
-        // 10. PARTICLES (sparks + revive particles)
+        // 9. PLAYER (ALWAYS ON TOP)
         // ================================
-        // draw revive particles (soft, larger)
-        Graphics2D gP = (Graphics2D) g2.create();
-        for (ReviveParticle p : reviveParticles) {
-            float alpha = Math.max(0f, p.life / 30f);
-            gP.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, alpha));
-            int s = 6 + (int) (6 * (1f - alpha));
-            gP.setColor(new Color(180, 120, 255, (int) (200 * alpha)));
-            gP.fillOval(p.x - s / 2, p.y - s / 2, s, s);
-            // soft trail
-            gP.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, alpha * 0.6f));
-            gP.setColor(new Color(255, 255, 255, (int) (100 * alpha)));
-            gP.fillOval(p.x - s, p.y - s, s * 2, s * 2);
+        playerTransform.setTransform(shakeTransform);
+        if (s.has(RenderSnapshot.CLEAR_SKILL)) {
+            playerTransform.rotate(s.tiltAngle + Math.PI / 2, playerCX, playerCY);
+        }
+        d.layer(LAYER_PLAYER).alpha(1f);
+        BufferedImage playerFrame = sprites.get(s.playerSprite);
+        if (playerFrame == null) {
+            d.transform(playerTransform).color(Color.BLUE);
+            d.fillRect(prx, pry, playerW, playerH);
+        } else {
+            Player.spriteTransform(playerTransform, prx, pry, playerW, playerH,
+                    s.has(RenderSnapshot.PLAYER_RUNNING), s.has(RenderSnapshot.PLAYER_FACING_RIGHT));
+            d.transform(playerTransform);
+            d.blit(playerFrame, 0, 0);
         }
+        d.transform(shakeTransform);
 
-        // draw spark particles (bright, tiny)
-        for (SparkParticle sp : sparkParticles) {
-            float alpha = Math.max(0f, sp.life / 20f);
-            gP.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, alpha));
-            int s = 2 + (int) (3 * (1f - alpha));
-            gP.setColor(sp.colorWithAlpha(alpha));
-            gP.fillOval(sp.x - s / 2, sp.y - s / 2, s, s);
+        // ================================
+        // 10. PARTICLES (revive, sparks, hits, debris, skills)
+        // ================================
+        if (s.particleCount > 0) {
+            d.layer(LAYER_PARTICLES);
+            d.batch(g -> particles.draw(g, s.particleX, s.particleY, s.particleSprite, s.particleCount));
         }
-        gP.dispose();
 
         // ================================
-        // 11. REVIVE BEAM + EXPLOSION (overlay effect)
+        // 11. REVIVE BEAM + EXPLOSION (overlay glow, over player and particles)
         // ================================
-        if (reviveVFXFrames > 0) {
-            Graphics2D gVFX = (Graphics2D) g2.create();
-            float progress = (float) reviveVFXFrames / 60f; // 1 -> 0
-            // Beam
-            int beamX = player.getX() + player.getWidth() / 2;
+        if (s.reviveVFXFrames > 0 && !baked) {
+            // procedural beam + pulse until the flipbooks are baked
+            float progress = (float) s.reviveVFXFrames / 60f; // 1 -> 0
+            int beamX = playerCX;
             int beamTop = 20;
-            int beamBottom = player.getY() + player.getHeight() / 2;
-            gVFX.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, 0.7f * progress));
-            GradientPaint gp = new GradientPaint(beamX, beamTop, new Color(255, 255, 255, (int) (255 * progress)),
-                    beamX, beamBottom, new Color(150, 100, 255, 0));
-            gVFX.setPaint(gp);
-            gVFX.fillRect(beamX - 8, beamTop, 16, beamBottom - beamTop);
-
-            // pulsing circle around player
-            int maxR = 120;
-            int r = (int) (maxR * (1f - progress));
-            gVFX.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, (1f - progress) * 0.9f));
-            gVFX.setColor(new Color(200, 200, 255, (int) (180 * (1f - progress))));
-            gVFX.fillOval(player.getX() + player.getWidth() / 2 - r / 2, player.getY() + player.getHeight() / 2 - r / 2, r, r);
-
-            gVFX.dispose();
-
-            reviveVFXFrames--;
-            // ensure slowMotionFrames already decremented in update()
+            int beamBottom = playerCY;
+            if (beamBottom > beamTop) {
+                overlay.layer(overlayBase + OVERLAY_BEAM).alpha(0.7f * progress);
+                overlay.paint(new GradientPaint(beamX, beamTop, new Color(255, 255, 255, (int) (255 * progress)),
+                        beamX, beamBottom, new Color(150, 100, 255, 0)));
+                overlay.fillRect(beamX - 8, beamTop, 16, beamBottom - beamTop);
+            }
+            int r = (int) (VfxLibrary.PULSE_MAX_DIAMETER * (1f - progress));
+            overlay.layer(overlayBase + OVERLAY_PULSE).alpha((1f - progress) * 0.9f);
+            overlay.color(200, 200, 255, (int) (180 * (1f - progress)));
+            overlay.fillOval(playerCX - r / 2, playerCY - r / 2, r, r);
+        } else if (s.reviveVFXFrames > 0) {
+            float progress = (float) s.reviveVFXFrames / 60f; // 1 -> 0
+            // Beam (baked gradient, stretched from the top of the arena to the player)
+            int beamX = playerCX;
+            int beamTop = 20;
+            int beamBottom = playerCY;
+            overlay.layer(overlayBase + OVERLAY_BEAM).alpha(1f);
+            if (beamBottom > beamTop) {
+                overlay.blit(vfx.reviveBeam().frame(progress), beamX - 8, beamTop, 16, beamBottom - beamTop);
+            }
+
+            // pulsing circle around player (baked white, tinted here)
+            VfxFlipbook pulse = vfx.revivePulse();
+            overlay.layer(overlayBase + OVERLAY_PULSE);
+            pulse.record(overlay, tintCache.get(pulse.frame(progress), REVIVE_PULSE_TINT, 1f), playerCX, playerCY, 1f, 1f);
+        }
+        if (overlay != d) {
+            d.layer(LAYER_OVERLAY_GLOW).alpha(1f);
+            d.batch(overlayGlowLayer::composite);
         }
 
         // ================================
         // 12. HEARTS (UI ALWAYS ABOVE PLAYER)
         // ================================
         if (heartIcon != null) {
-            int hearts = player.getLives();
-            int size = 35;
+            int hearts = s.lives;
+            int size = HEART_SIZE;
             int spacing = 8;
             int x = 25;
             int y = 25;
 
             // Draw current hearts
+            d.layer(LAYER_HEARTS).alpha(1f);
             for (int i = 0; i < hearts; i++) {
-                g2.drawImage(heartIcon,
-                        x + i * (size + spacing),
-                        y,
-                        size,
-                        size,
-                        null);
+                d.blit(heartIcon, x + i * (size + spacing), y);
             }
 
             // Draw animating lost heart if animation is active
-            if (heartLossAnimationFrames > 0) {
+            if (s.heartLossFrames > 0) {
                 int lostHeartIndex = hearts; // The heart that was lost is at the position after current hearts
                 int hx = x + lostHeartIndex * (size + spacing);
                 int hy = y;
 
-                Graphics2D gInv = (Graphics2D) g2.create();
-                gInv.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, 0.3f));
-                gInv.setColor(Color.YELLOW);
+                d.layer(LAYER_HEART_GLOW).alpha(0.3f).color(Color.YELLOW);
                 int glowSize = 10;
-                gInv.fillOval(player.getX() - glowSize, player.getY() - glowSize, player.getWidth() + 2 * glowSize, player.getHeight() + 2 * glowSize);
-                gInv.dispose();
-
-                // Create a tinted version for flashing effect
-                BufferedImage tintedHeart = new BufferedImage(heartIcon.getWidth(), heartIcon.getHeight(), BufferedImage.TYPE_INT_ARGB);
-                Graphics2D tg = tintedHeart.createGraphics();
-                tg.drawImage(heartIcon, 0, 0, null);
-                tg.setComposite(AlphaComposite.SrcAtop);
-                tg.setColor(Color.RED); // Tint red for damage effect
-                tg.fillRect(0, 0, tintedHeart.getWidth(), tintedHeart.getHeight());
-                tg.dispose();
+                d.fillOval(prx - glowSize, pry - glowSize, playerW + 2 * glowSize, playerH + 2 * glowSize);
+
+                // Tinted version for flashing effect (red for damage)
+                BufferedImage tintedHeart = tintCache.get(heartIcon, Color.RED, 1f);
 
                 // Flash effect: alternate between normal and tinted every few frames
-                if ((heartLossAnimationFrames / 5) % 2 == 0) {
-                    g2.drawImage(tintedHeart, hx, hy, size, size, null);
-                } else {
-                    g2.drawImage(heartIcon, hx, hy, size, size, null);
-                }
+                d.layer(LAYER_HEART_FLASH).alpha(1f);
+                d.blit((s.heartLossFrames / 5) % 2 == 0 ? tintedHeart : heartIcon, hx, hy);
             }
 
             // Draw reviving heart if animation is active (a small green flash)
-            if (reviveVFXFrames > 0) {
-                int reviveHeartIndex = Math.max(0, player.getLives() - 1);
+            if (s.reviveVFXFrames > 0) {
+                int reviveHeartIndex = Math.max(0, s.lives - 1);
                 int hx = x + reviveHeartIndex * (size + spacing);
                 int hy = y;
 
-                BufferedImage tintedHeart = new BufferedImage(heartIcon.getWidth(), heartIcon.getHeight(), BufferedImage.TYPE_INT_ARGB);
-                Graphics2D tg = tintedHeart.createGraphics();
-                tg.drawImage(heartIcon, 0, 0, null);
-                tg.setComposite(AlphaComposite.SrcAtop);
-                tg.setColor(new Color(120, 255, 120)); // green tint
-                tg.fillRect(0, 0, tintedHeart.getWidth(), tintedHeart.getHeight());
-                tg.dispose();
-
-                if ((reviveVFXFrames / 5) % 2 == 0) {
-                    g2.drawImage(tintedHeart, hx, hy, size, size, null);
-                } else {
-                    g2.drawImage(heartIcon, hx, hy, size, size, null);
-                }
+                BufferedImage tintedHeart = tintCache.get(heartIcon, REVIVE_HEART_TINT, 1f);
+                d.layer(LAYER_HEART_FLASH).alpha(1f);
+                d.blit((s.reviveVFXFrames / 5) % 2 == 0 ? tintedHeart : heartIcon, hx, hy);
             }
         }
-
-        // dispose the top-level g2 copy
-        g2.dispose();
     }
 
     // ================================
     // Helpers & inner particle classes
     // ================================
-    private void applyGravity() {
-        int ny = player.getY() + velocityY;
-        int floor = getHeight() - 20 - player.getHeight();
-        if (ny >= floor) {
-            ny = floor;
-            velocityY = 0;
-            jumpsUsed = 0;
-        }
-        player.setY(ny);
-    }
+    private static final Color REVIVE_HEART_TINT = new Color(120, 255, 120); // green tint
 
-    private Color getRainbowColor(int index) {
-        float hue = (System.currentTimeMillis() % 2000) / 2000f;
+    // Snapped to TintCache's palette so tinted trail frames are cache hits
+    private static Color getRainbowColor(long clockMillis, int index) {
+        float hue = (clockMillis % 2000) / 2000f;
         hue += (index * 0.05f);
-        return Color.getHSBColor(hue % 1f, 1f, 1f);
-    }
-
-    private void clampPlayerPosition() {
-        int arenaLeft = 20;
-        int arenaTop = 20;
-        int arenaRight = getWidth() - 20;
-        int arenaBottom = getHeight() - 20;
-        if (player.getX() < arenaLeft) player.setX(arenaLeft);
-        if (player.getX() + player.getWidth() > arenaRight) player.setX(arenaRight - player.getWidth());
-        if (player.getY() < arenaTop) player.setY(arenaTop);
-        if (player.getY() + player.getHeight() > arenaBottom) player.setY(arenaBottom - player.getHeight());
+        return TintCache.rainbow(hue);
     }
 
     // --- UI Setup (same as before) ---
@@ -735,12 +727,16 @@ public class GameArena extends JPanel {
     private void openPauseOverlay() {
         if (pauseOverlay != null) return;
         gamePaused = true;
+        // the heavyweight canvas would hide the (lightweight) overlay: fall back to Swing painting
+        if (activeSurface != null) activeSurface.setVisible(false);
+        gameLoop.setPaused(true);
+        keyboard.setEnabled(false);
         pauseOverlay = new JPanel(null);
         pauseOverlay.setBackground(new Color(0, 0, 0, 180));
         pauseOverlay.setOpaque(true);
 
         JButton resumeBtn = new JButton("RESUME");
-        resumeBtn.setFont(new Font("VT323", Font.BOLD, 28));
+        resumeBtn.setFont(GlyphAtlas.font("VT323", Font.BOLD, 28));
         resumeBtn.setForeground(Color.GREEN);
         resumeBtn.setBackground(Color.BLACK);
         resumeBtn.setBorder(BorderFactory.createLineBorder(Color.GREEN));
@@ -749,7 +745,7 @@ public class GameArena extends JPanel {
         resumeBtn.addActionListener(e -> closePauseOverlay());
 
         JButton quitBtn = new JButton("QUIT");
-        quitBtn.setFont(new Font("VT323", Font.BOLD, 28));
+        quitBtn.setFont(GlyphAtlas.font("VT323", Font.BOLD, 28));
         quitBtn.setForeground(Color.RED);
         quitBtn.setBackground(Color.BLACK);
         quitBtn.setBorder(BorderFactory.createLineBorder(Color.GREEN));
@@ -791,10 +787,15 @@ public class GameArena extends JPanel {
     private void closePauseOverlay() {
         if (pauseOverlay != null) { remove(pauseOverlay); pauseOverlay = null; }
         gamePaused = false;
+        if (activeSurface != null) activeSurface.setVisible(true);
+        gameLoop.setPaused(false);
+        keyboard.setEnabled(true);
         SwingUtilities.invokeLater(() -> { requestFocusInWindow(); repaint(); });
     }
 
     private void goToHomeScreen() {
+        gameLoop.stop();
+        reportFrameStats();
         JFrame frame = (JFrame) SwingUtilities.getWindowAncestor(this);
         frame.getContentPane().removeAll();
         frame.getContentPane().add(new HomeScreen(new SoundManager()));
@@ -802,71 +803,13 @@ public class GameArena extends JPanel {
         frame.repaint();
     }
 
-    // ---------------------------
-    // Particle classes
-    // ---------------------------
-    private static class ReviveParticle {
-        int x, y;
-        double vx, vy;
-        int life = 28;
-
-        ReviveParticle(int startX, int startY) {
-            x = startX;
-            y = startY;
-            double angle = Math.random() * Math.PI * 2;
-            double speed = 1.5 + Math.random() * 2.8;
-            vx = Math.cos(angle) * speed;
-            vy = Math.sin(angle) * speed - (0.5 + Math.random()); // little upward bias
-        }
-
-        void update() {
-            x += vx;
-            y += vy;
-            // subtle gravity
-            vy += 0.06;
-            life--;
-        }
-    }
-
-    private static class SparkParticle {
-        int x, y;
-        double vx, vy;
-        int life = 20;
-        Color base;
-
-        SparkParticle(int startX, int startY) {
-            x = startX;
-            y = startY;
-            double angle = Math.random() * Math.PI * 2;
-            double speed = 2 + Math.random() * 4.5;
-            vx = Math.cos(angle) * speed;
-            vy = Math.sin(angle) * speed;
-            base = randomSparkColor();
-        }
-
-        void update() {
-            x += vx;
-            y += vy;
-            // friction
-            vx *= 0.96;
-            vy *= 0.96;
-            // gravity
-            vy += 0.08;
-            life--;
-        }
-
-        Color colorWithAlpha(float alpha) {
-            int a = Math.max(0, Math.min(255, (int) (255 * alpha)));
-            return new Color(base.getRed(), base.getGreen(), base.getBlue(), a);
-        }
-
-        private static Color randomSparkColor() {
-            int pick = (int) (Math.random() * 3);
-            return switch (pick) {
-                case 0 -> new Color(255, 200, 60);
-                case 1 -> new Color(255, 120, 255);
-                default -> new Color(120, 220, 255);
-            };
+    @Override
+    public void removeNotify() {
+        if (gameLoop.isRunning()) {
+            gameLoop.stop();
+            reportFrameStats();
         }
+        if (viewport.getRasterizer() != null) viewport.getRasterizer().shutdown();
+        super.removeNotify();
     }
 }
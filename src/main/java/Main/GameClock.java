@@ -0,0 +1,78 @@
+package Main;
+
+/**
+ * GameClock
+ * Monotonic simulation time, measured in ticks and nanoseconds.
+ *
+ * - Only {@link #advance()} moves it (once per Simulation tick), so it never
+ *   reads the wall clock: pausing the loop freezes it, and headless runs can
+ *   advance it as fast as they can tick.
+ * - Each tick adds stepNanos * timeScale (timeScale 0.5 = half speed).
+ * - Gameplay tuning (speeds, gravity, frame counts) is authored per tick at
+ *   {@link #REFERENCE_HZ}; {@link #tickScale()} and {@link #scaleFrames(int)}
+ *   convert it to this clock's step, so 120/240 Hz play at the same speed.
+ * - {@link #NEVER} is a timestamp far enough in the past that any cooldown
+ *   measured from it has already elapsed.
+ */
+public class GameClock {
+
+    public static final long NEVER = Long.MIN_VALUE / 4;
+    public static final int REFERENCE_HZ = 60;
+
+    private final long stepNanos;
+    private final double tickScale;
+    private long ticks = 0;
+    private long nanos = 0;
+    private double timeScale = 1.0;
+    private boolean paused = false;
+
+    public GameClock(long stepNanos) {
+        if (stepNanos <= 0) throw new IllegalArgumentException("stepNanos must be > 0");
+        this.stepNanos = stepNanos;
+        // from the rounded rate, so 120/240 Hz give exactly 0.5/0.25
+        this.tickScale = REFERENCE_HZ / (double) Math.max(1, Math.round(1e9 / stepNanos));
+    }
+
+    // Clock for the default 60 Hz step
+    public GameClock() {
+        this(GameLoop.TickRate.HZ_60.getStepNanos());
+    }
+
+    public void advance() {
+        if (paused) return;
+        ticks++;
+        nanos += (long) (stepNanos * timeScale);
+    }
+
+    public long ticks() { return ticks; }
+    public long nanos() { return nanos; }
+    public long millis() { return nanos / 1_000_000L; }
+
+    // Milliseconds elapsed since a timestamp taken from millis() (or NEVER)
+    public long millisSince(long timestampMillis) { return millis() - timestampMillis; }
+
+    // Reference (60 Hz) ticks per tick: multiply per-tick speeds/rates by this
+    public double tickScale() { return tickScale; }
+
+    // A duration given in reference ticks, in ticks of this clock (at least 1 if frames > 0)
+    public int scaleFrames(int referenceFrames) {
+        if (referenceFrames <= 0) return referenceFrames;
+        return Math.max(1, (int) Math.round(referenceFrames / tickScale));
+    }
+
+    // Remaining ticks back in reference ticks (rounded up), for effects timed at 60 Hz
+    public int toReferenceFrames(int ticks) {
+        if (ticks <= 0) return ticks;
+        return (int) Math.ceil(ticks * tickScale);
+    }
+
+    public void setPaused(boolean paused) { this.paused = paused; }
+    public boolean isPaused() { return paused; }
+
+    public void setTimeScale(double timeScale) {
+        if (timeScale < 0) throw new IllegalArgumentException("timeScale must be >= 0");
+        this.timeScale = timeScale;
+    }
+    public double getTimeScale() { return timeScale; }
+    public long getStepNanos() { return stepNanos; }
+}
@@ -0,0 +1,144 @@
+package Main;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * GameLoop
+ * Fixed-timestep simulation loop that runs on its own thread.
+ *
+ * - The simulation advances in fixed steps (60/120/240 Hz) using an accumulator,
+ *   so a slow paint can delay a tick but never stretches simulation time: the
+ *   missed steps are caught up on the next iteration.
+ * - After the ticks of an iteration the render callback is invoked. Renderers can
+ *   ask {@link #getInterpolationAlpha()} how far we are between the last two
+ *   simulation states and interpolate positions with it.
+ *
+ * Gameplay tuning (gravity, speeds, frame counters) is expressed per tick at
+ * 60 Hz; GameClock scales it to the step, so every rate plays at the same speed.
+ */
+public class GameLoop implements Runnable {
+
+    public enum TickRate {
+        HZ_60(60),
+        HZ_120(120),
+        HZ_240(240);
+
+        private final int hz;
+
+        TickRate(int hz) { this.hz = hz; }
+
+        public int getHz() { return hz; }
+
+        public long getStepNanos() { return 1_000_000_000L / hz; }
+
+        public static TickRate fromHz(int hz) {
+            for (TickRate r : values()) {
+                if (r.hz == hz) return r;
+            }
+            return HZ_60;
+        }
+    }
+
+    // Never run more than this many ticks per iteration (avoids the "spiral of death"
+    // when the machine simply can't keep up)
+    private static final int MAX_TICKS_PER_ITERATION = 10;
+    // Long stalls (debugger, window drag) are clamped instead of replayed
+    private static final long MAX_FRAME_NANOS = 250_000_000L;
+
+    private final TickRate tickRate;
+    private final long stepNanos;
+    private final Runnable tick;
+    private final Runnable render;
+
+    private Thread thread;
+    private volatile boolean running = false;
+    private volatile boolean paused = false;
+
+    // System.nanoTime() minus the accumulator left after the last ticks, i.e. when the
+    // pending partial step began; interpolation measures from here
+    private volatile long pendingSinceNanos = System.nanoTime();
+    private volatile long tickCount = 0;
+
+    public GameLoop(TickRate tickRate, Runnable tick, Runnable render) {
+        this.tickRate = tickRate;
+        this.stepNanos = tickRate.getStepNanos();
+        this.tick = tick;
+        this.render = render;
+    }
+
+    public synchronized void start() {
+        if (running) return;
+        running = true;
+        thread = new Thread(this, "game-loop");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    public synchronized void stop() {
+        running = false;
+        if (thread != null) {
+            thread.interrupt();
+            if (thread != Thread.currentThread()) {
+                try {
+                    thread.join(500);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            thread = null;
+        }
+    }
+
+    @Override
+    public void run() {
+        long previous = System.nanoTime();
+        long accumulator = 0;
+
+        while (running) {
+            long now = System.nanoTime();
+            long frame = Math.min(now - previous, MAX_FRAME_NANOS);
+            previous = now;
+
+            if (paused) {
+                // frozen: don't build up a backlog of ticks while paused
+                accumulator = 0;
+            } else {
+                accumulator += frame;
+                int ticks = 0;
+                while (accumulator >= stepNanos && ticks < MAX_TICKS_PER_ITERATION) {
+                    tick.run();
+                    accumulator -= stepNanos;
+                    ticks++;
+                    tickCount++;
+                }
+                if (ticks == MAX_TICKS_PER_ITERATION) {
+                    // still behind: drop the backlog rather than falling further behind
+                    accumulator %= stepNanos;
+                }
+                pendingSinceNanos = now - accumulator;
+            }
+
+            render.run();
+
+            long sleep = stepNanos - accumulator - (System.nanoTime() - now);
+            if (sleep > 0) LockSupport.parkNanos(sleep);
+        }
+    }
+
+    /**
+     * Fraction (0..1) of the next step already accumulated: the accumulator left
+     * after the last ticks plus the time since, over the step length.
+     */
+    public float getInterpolationAlpha() {
+        if (paused) return 1f;
+        float alpha = (float) (System.nanoTime() - pendingSinceNanos) / stepNanos;
+        return Math.max(0f, Math.min(1f, alpha));
+    }
+
+    public void setPaused(boolean paused) { this.paused = paused; }
+    public boolean isPaused() { return paused; }
+    public boolean isRunning() { return running; }
+    public TickRate getTickRate() { return tickRate; }
+    public long getStepNanos() { return stepNanos; }
+    public long getTickCount() { return tickCount; }
+}
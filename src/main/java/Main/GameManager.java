@@ -17,11 +17,33 @@ public class GameManager {
         NONE
     }
 
+    // Arena mode: what happens when two projectiles touch
+    public enum ProjectileCollisionMode {
+        OFF,        // classic: projectiles pass through each other
+        DEFLECT,    // elastic bounce off each other
+        ANNIHILATE  // both are destroyed
+    }
+
     // Player (GameManager owns the authoritative player)
     private Player player;
 
-    // Game objects
-    private List<Projectile> projectiles;
+    // Game objects (projectiles are a struct-of-arrays store, see ProjectileBuffer)
+    private ProjectileBuffer projectiles;
+
+    // Broadphase over live projectiles (rebuilt incrementally by the buffer)
+    private static final int GRID_CELL_SIZE = 64;
+    private final SpatialGrid projectileGrid = new SpatialGrid(GRID_CELL_SIZE, 16, 256);
+    private int[] hitCandidates = new int[64];
+
+    // Fork/join for projectile update + hit tests in bullet-hell counts
+    private final ProjectileWorkers projectileWorkers = ProjectileWorkers.createDefault();
+
+    // Player position at the last hit test: hits are swept from here to the current position
+    private int sweepFromX, sweepFromY;
+
+    // Projectile-vs-projectile mode (broadphase only allocated when enabled)
+    private ProjectileCollisionMode projectileCollisionMode = ProjectileCollisionMode.OFF;
+    private SweepAndPrune projectileSweep;
     private List<LifePack> lifePacks;
 
     // Equipped slots
@@ -29,13 +51,16 @@ public class GameManager {
     private SkillType slotF = SkillType.NONE;
     private SkillType slotV = SkillType.NONE;
 
-    // Cooldowns - last used timestamps
-    private long lastUsedSandevistan = 0;
-    private long lastUsedTimeStop = 0;
-    private long lastUsedBlink = 0;
-    private long lastUsedShield = 0;
-    private long lastUsedClearScreen = 0;
-    private long lastUsedRevive = 0;
+    // Sim-time clock (advanced by Simulation.tick); cooldowns and difficulty read it
+    private GameClock clock = new GameClock();
+
+    // Cooldowns - last used timestamps (clock millis; NEVER = ready at start)
+    private long lastUsedSandevistan = GameClock.NEVER;
+    private long lastUsedTimeStop = GameClock.NEVER;
+    private long lastUsedBlink = GameClock.NEVER;
+    private long lastUsedShield = GameClock.NEVER;
+    private long lastUsedClearScreen = GameClock.NEVER;
+    private long lastUsedRevive = GameClock.NEVER;
 
     // Cooldown durations (ms) - sensible defaults
     public long cdSandevistan = 10_000; // 10s
@@ -45,7 +70,7 @@ public class GameManager {
     public long cdClear = 20_000; // 20s
     public long cdRevive = 120_000; // 2 minutes
 
-    // Skill active flags & timers (frames)
+    // Skill active flags & timers (durations in 60 Hz frames; counters in ticks, see GameClock.scaleFrames)
     private boolean sandevistanActive = false;
     private int sandevistanFramesLeft = 0;
     private int sandevistanDuration = 200;
@@ -70,7 +95,7 @@ public class GameManager {
     // Clear (ultimate) cinematic state
     private boolean clearSkillActive = false;
     private int clearSkillSequenceStep = 0;
-    private List<Projectile> targetsToClear = new ArrayList<>();
+    private ProjectileBuffer targetsToClear = new ProjectileBuffer(64);
     private int clearSkillTargetIndex = 0;
     private long sequenceTimeElapsed = 0;
     private final int MOVEMENT_DURATION = 3;
@@ -83,26 +108,42 @@ public class GameManager {
 
     // Blink ghosts (visual effect)
     private List<BlinkGhost> blinkGhosts = new ArrayList<>();
+    private final ObjectPool<BlinkGhost> blinkGhostPool = new ObjectPool<>(BlinkGhost::new, 10, 64);
+    private int maxBlinkGhosts = 10; // per blink (QualityGovernor)
 
     // Trail for sandevistan (store sprite frames)
     private final int TRAIL_SIZE = 12;
     private BufferedImage[] trailFrames = new BufferedImage[TRAIL_SIZE];
     private int[][] trailPositions = new int[TRAIL_SIZE][2];
     private int trailIndex = 0;
+    private int trailLength = TRAIL_SIZE; // frames in use (QualityGovernor), <= TRAIL_SIZE
+    private int trailTicks = 0; // ticks since the last stored frame (one frame per 60 Hz tick)
 
     // Spawning and difficulty
     private Random random = new Random();
     private int spawnTimer = 0;
-    private long startTime = System.currentTimeMillis();
+    private long startTime = 0; // clock millis when the run started
     private int difficultyLevel = 1;
 
-    SoundManager soundManager = new SoundManager();
+    SoundManager soundManager;
+
+    // Projectile / skill events for the view (particles etc.)
+    private PresentationSink events = PresentationSink.NONE;
 
     public GameManager() {
+        this(new SoundManager());
+    }
+
+    public GameManager(SoundManager soundManager) {
+        this.soundManager = soundManager;
+
         // Instantiate a Player that matches the visual size used in the arena (64x64)
         player = new Player(250, 100, 64, 64, 5, 3);
 
-        projectiles = new ArrayList<>();
+        projectiles = new ProjectileBuffer(256);
+        projectiles.attachIndex(projectileGrid);
+        sweepFromX = player.getX();
+        sweepFromY = player.getY();
         lifePacks = new ArrayList<>();
     }
 
@@ -117,11 +158,26 @@ public class GameManager {
     public SkillType getSkillF() { return slotF; }
     public SkillType getSkillV() { return slotV; }
 
+    public void setProjectileCollisionMode(ProjectileCollisionMode mode) { projectileCollisionMode = mode; }
+    public ProjectileCollisionMode getProjectileCollisionMode() { return projectileCollisionMode; }
+
+    // Swap in another clock (e.g. one stepping at the loop's tick rate) before the run starts
+    public void setClock(GameClock clock) {
+        this.clock = clock;
+        this.startTime = clock.millis();
+    }
+
+    public GameClock getClock() { return clock; }
+
+    public void setPresentationSink(PresentationSink sink) {
+        this.events = sink != null ? sink : PresentationSink.NONE;
+    }
+
     // ===============================
     // CAN USE / MARK USED
     // ===============================
     public boolean canUse(SkillType s) {
-        long now = System.currentTimeMillis();
+        long now = clock.millis();
         return switch (s) {
             case SANDEVISTAN -> now - lastUsedSandevistan > cdSandevistan;
             case TIME_STOP -> now - lastUsedTimeStop > cdTimeStop;
@@ -134,7 +190,7 @@ public class GameManager {
     }
 
     private void markUsed(SkillType s) {
-        long now = System.currentTimeMillis();
+        long now = clock.millis();
         switch (s) {
             case SANDEVISTAN -> lastUsedSandevistan = now;
             case TIME_STOP -> lastUsedTimeStop = now;
@@ -159,6 +215,7 @@ public class GameManager {
             default -> {}
         }
         markUsed(s);
+        events.onSkillActivated(s);
         return true;
     }
 
@@ -167,20 +224,20 @@ public class GameManager {
     // ===============================
     private void activateSandevistan() {
         sandevistanActive = true;
-        sandevistanFramesLeft = sandevistanDuration;
+        sandevistanFramesLeft = clock.scaleFrames(sandevistanDuration);
         soundManager.playSound("sandevistan");
     }
 
     private void activateTimeStop() {
         timeStopActive = true;
-        timeStopFramesLeft = timeStopDuration;
-        flashingFramesLeft = flashingDuration;
+        timeStopFramesLeft = clock.scaleFrames(timeStopDuration);
+        flashingFramesLeft = clock.scaleFrames(flashingDuration);
         soundManager.playSound("timestop");
     }
 
     private void activateShield() {
         shieldActive = true;
-        shieldFramesLeft = shieldDuration;
+        shieldFramesLeft = clock.scaleFrames(shieldDuration);
     }
 
     private void blink() {
@@ -194,12 +251,12 @@ public class GameManager {
 
         // create simple ghost frames (use player's current frame)
         BufferedImage sprite = player.getCurrentFrame();
-        int steps = 10;
+        int steps = Math.max(2, Math.min(10, maxBlinkGhosts));
         for (int i = 0; i < steps; i++) {
             float ratio = (float) i / (float) (steps - 1);
             int ghostX = (int) (startX + (player.getX() - startX) * ratio);
             int ghostY = (int) (startY + (player.getY() - startY) * ratio);
-            blinkGhosts.add(new BlinkGhost(ghostX, ghostY, sprite, 0.8f));
+            blinkGhosts.add(blinkGhostPool.acquire().set(ghostX, ghostY, sprite, 0.8f));
         }
         soundManager.playSound("blink");
     }
@@ -258,7 +315,7 @@ public class GameManager {
                 sy = random.nextBoolean() ? speedX : -speedX;
             }
         }
-        projectiles.add(new Projectile(x,y,sx,sy,16));
+        projectiles.add(x, y, sx, sy, 16);
     }
 
     /**
@@ -266,9 +323,11 @@ public class GameManager {
      * This updates difficulty, skill timers, projectiles, spawn logic, blink ghosts, etc.
      */
     public void update(int arenaW, int arenaH) {
-        long elapsedSeconds = (System.currentTimeMillis() - startTime) / 1000;
+        if (projectileGrid.resize(arenaW, arenaH)) projectiles.reindex();
+        long elapsedSeconds = clock.millisSince(startTime) / 1000;
         difficultyLevel = 1 + (int) (elapsedSeconds / 20);
-        long now = System.currentTimeMillis();
+        long now = clock.millis();
+        double k = clock.tickScale();
         player.updateInvincibility();
         revivedThisFrame = false;
 
@@ -304,18 +363,23 @@ public class GameManager {
         }
 
         // Blink ghosts fade
-        Iterator<BlinkGhost> git = blinkGhosts.iterator();
-        while (git.hasNext()) {
-            BlinkGhost g = git.next();
-            g.alpha -= 0.03f;
-            if (g.alpha <= 0) git.remove();
+        for (int i = blinkGhosts.size() - 1; i >= 0; i--) {
+            BlinkGhost g = blinkGhosts.get(i);
+            g.alpha -= 0.03f * (float) k;
+            if (g.alpha <= 0) {
+                // swap-remove (ghost order doesn't matter) and recycle
+                int last = blinkGhosts.size() - 1;
+                blinkGhosts.set(i, blinkGhosts.get(last));
+                blinkGhosts.remove(last);
+                blinkGhostPool.release(g);
+            }
         }
 
         // Spawn projectiles (respect time stop)
         if (!timeStopActive) {
             spawnTimer++;
             int spawnInterval = Math.max(10, 60 - (difficultyLevel * 5));
-            if (spawnTimer > spawnInterval) {
+            if (spawnTimer >= clock.scaleFrames(spawnInterval + 1)) {
                 spawnProjectile(arenaW, arenaH);
                 spawnTimer = 0;
             }
@@ -323,92 +387,181 @@ public class GameManager {
 
 
 
-// Update projectiles and handle collisions with player (AUTO-REVIVE here)
-Iterator<Projectile> it = projectiles.iterator();
-while (it.hasNext()) {
-    Projectile p = it.next();
-    if (!timeStopActive) {
-        p.setSlowed(sandevistanActive);
-        p.update(arenaW, arenaH);
+        // Update projectiles and handle collisions with player (AUTO-REVIVE here)
+        if (!timeStopActive) {
+            projectileWorkers.update(projectiles, arenaW, arenaH, (sandevistanActive ? 0.3 : 1.0) * k);
 
-        // Shield intercepts first
-        if (shieldActive && checkShieldCollision(p)) {
-            it.remove();
-            continue;
-        }
+            handleProjectileHits();
 
-        // If player is currently invincible, skip collision (projectile still updates)
-        if (player.isInvincible()) {
-            if (p.shouldRemove()) it.remove();
-            continue;
-        }
+            if (projectileCollisionMode != ProjectileCollisionMode.OFF) {
+                handleProjectileVsProjectile();
+            }
 
-        // Collision with player
-        if (player.collidesWith(p)) {
-            // remove projectile
-            it.remove();
-
-            // Always take damage if lives > 0
-            if (player.getLives() > 0) {
-                player.loseLife();
-                soundManager.playSound("hit");
-
-                // Check if player just died (lives now 0) and try auto-revive
-                if (player.getLives() == 0) {
-                    boolean hasAutoReviveEquipped =
-                            slotR == SkillType.REVIVE ||
-                            slotF == SkillType.REVIVE ||
-                            slotV == SkillType.REVIVE;
-
-                    if (hasAutoReviveEquipped && canUse(SkillType.REVIVE)) {
-                        // Trigger auto-revive: restore 1 life and give temporary invincibility
-                        player.setLives(1);  // Assuming Player has setLives(int) method
-                        player.setInvincible(true);
-                        reviveInvincibleFramesLeft = REVIVE_INVINCIBLE_FRAMES;
-                        markUsed(SkillType.REVIVE);
-                        soundManager.playSound("revive");  // Use appropriate sound asset
-                    } else {
-                        // No revive available -> player dies
-                        soundManager.playSound("final_hit");
-                    }
-                }
+            // swap-remove: on removal slot i holds the former last projectile, so don't advance
+            for (int i = 0; i < projectiles.count(); ) {
+                if (projectiles.shouldRemove(i)) {
+                    emitProjectileDestroyed(projectiles, i);
+                    projectiles.remove(i);
+                } else i++;
             }
-            // continue to next projectile
-            continue;
         }
-    }
-    if (p.shouldRemove()) it.remove();
-}
-
-// Remove the unused tryAutoRevive and useReviveSkill methods from GameManager
-
 
         // Clear-skill cinematic
         if (clearSkillActive) {
             runCinematicClearSequence();
         }
 
+        // next hit test sweeps from here (time stop / cinematic moves are not swept)
+        sweepFromX = player.getX();
+        sweepFromY = player.getY();
+
         // store trail frame for sandevistan visuals
         storeTrailFrame();
     }
 
+    // Narrowphase only for projectiles in the grid cells around the player / shield.
+    // Tests are continuous: the player's motion since the last test (run, dash, blink)
+    // against each projectile's motion this tick, so nothing tunnels at 60 Hz.
+    private void handleProjectileHits() {
+        int w = player.getWidth(), h = player.getHeight();
+        int x0 = sweepFromX, y0 = sweepFromY;
+        int x1 = player.getX(), y1 = player.getY();
+        int shieldRadius = getShieldRadius();
+
+        // swept bounds (shield circle encloses the player box) grown by the fastest projectile step
+        int reach = shieldActive ? Math.max(shieldRadius - w / 2, shieldRadius - h / 2) : 0;
+        int grow = reach + (int) Math.ceil(projectiles.getMaxStep());
+        int minX = Math.min(x0, x1) - grow, minY = Math.min(y0, y1) - grow;
+        int maxX = Math.max(x0, x1) + w + grow, maxY = Math.max(y0, y1) + h + grow;
+
+        int n = projectileGrid.query(minX, minY, maxX, maxY);
+        if (n == 0) return;
+        if (hitCandidates.length < n) hitCandidates = new int[Math.max(n, hitCandidates.length * 2)];
+        System.arraycopy(projectileGrid.getResults(), 0, hitCandidates, 0, n);
+        // resolve in index order (deterministic), then swap-remove from the highest index down
+        Arrays.sort(hitCandidates, 0, n);
+
+        // geometry only (parallel above the threshold), no side effects yet
+        final boolean testShield = shieldActive;
+        final boolean testPlayer = !player.isInvincible();
+        byte[] kinds = projectileWorkers.classifyHits(hitCandidates, n, i -> {
+            // Shield intercepts first
+            if (testShield && checkShieldCollision(i, x0, y0, x1, y1)) return ProjectileWorkers.HIT_SHIELD;
+            if (testPlayer && checkPlayerCollision(i, x0, y0, x1, y1)) return ProjectileWorkers.HIT_PLAYER;
+            return ProjectileWorkers.HIT_NONE;
+        });
+
+        // damage / revive / sounds applied serially in index order
+        int hits = 0;
+        for (int k = 0; k < n; k++) {
+            int i = hitCandidates[k];
+            if (kinds[k] == ProjectileWorkers.HIT_SHIELD) {
+                emitProjectileDestroyed(projectiles, i);
+                hitCandidates[hits++] = i;
+            // If player became invincible from an earlier hit, the projectile keeps flying
+            } else if (kinds[k] == ProjectileWorkers.HIT_PLAYER && !player.isInvincible()) {
+                events.onPlayerHit(projectiles.getX(i) + projectiles.getSize(i) / 2,
+                        projectiles.getY(i) + projectiles.getSize(i) / 2);
+                onPlayerHit();
+                hitCandidates[hits++] = i;
+            }
+        }
+        for (int k = hits - 1; k >= 0; k--) projectiles.remove(hitCandidates[k]);
+    }
+
+    private void emitProjectileDestroyed(ProjectileBuffer buffer, int i) {
+        int half = buffer.getSize(i) / 2;
+        events.onProjectileDestroyed(buffer.getX(i) + half, buffer.getY(i) + half);
+    }
+
+    private void handleProjectileVsProjectile() {
+        if (projectileSweep == null) projectileSweep = new SweepAndPrune();
+        int pairs = projectileSweep.findPairs(projectiles);
+        for (int p = 0; p < pairs; p++) {
+            int a = projectileSweep.getPairA(p);
+            int b = projectileSweep.getPairB(p);
+            if (projectileCollisionMode == ProjectileCollisionMode.ANNIHILATE) {
+                // removed by the shouldRemove() pass right after
+                projectiles.kill(a);
+                projectiles.kill(b);
+            } else {
+                deflect(a, b);
+            }
+        }
+    }
+
+    // Equal-mass elastic collision: swap the velocity components along the contact normal
+    private void deflect(int a, int b) {
+        int sizeA = projectiles.getSize(a), sizeB = projectiles.getSize(b);
+        double ax = projectiles.getExactX(a) + sizeA / 2.0, ay = projectiles.getExactY(a) + sizeA / 2.0;
+        double bx = projectiles.getExactX(b) + sizeB / 2.0, by = projectiles.getExactY(b) + sizeB / 2.0;
+        double dx = bx - ax, dy = by - ay;
+        double dist = Math.sqrt(dx * dx + dy * dy);
+        if (dist == 0) { dx = 1; dy = 0; dist = 1; }
+        double nx = dx / dist, ny = dy / dist;
+
+        double avx = projectiles.getSpeedX(a), avy = projectiles.getSpeedY(a);
+        double bvx = projectiles.getSpeedX(b), bvy = projectiles.getSpeedY(b);
+        double approach = (avx - bvx) * nx + (avy - bvy) * ny;
+        if (approach > 0) {
+            projectiles.setSpeed(a, avx - approach * nx, avy - approach * ny);
+            projectiles.setSpeed(b, bvx + approach * nx, bvy + approach * ny);
+        }
+
+        // push apart so they don't stay stuck together
+        double push = ((sizeA + sizeB) / 2.0 - dist) / 2.0;
+        if (push > 0) {
+            projectiles.setPosition(a, projectiles.getExactX(a) - nx * push, projectiles.getExactY(a) - ny * push);
+            projectiles.setPosition(b, projectiles.getExactX(b) + nx * push, projectiles.getExactY(b) + ny * push);
+        }
+    }
+
+    private void onPlayerHit() {
+        // Always take damage if lives > 0
+        if (player.getLives() > 0) {
+            player.loseLife();
+            soundManager.playSound("hit");
+
+            // Check if player just died (lives now 0) and try auto-revive
+            if (player.getLives() == 0) {
+                boolean hasAutoReviveEquipped =
+                        slotR == SkillType.REVIVE ||
+                        slotF == SkillType.REVIVE ||
+                        slotV == SkillType.REVIVE;
+
+                if (hasAutoReviveEquipped && canUse(SkillType.REVIVE)) {
+                    // Trigger auto-revive: restore 1 life and give temporary invincibility
+                    player.setLives(1);
+                    player.setInvincible(true);
+                    reviveInvincibleFramesLeft = clock.scaleFrames(REVIVE_INVINCIBLE_FRAMES);
+                    markUsed(SkillType.REVIVE);
+                    soundManager.playSound("revive");  // Use appropriate sound asset
+                } else {
+                    // No revive available -> player dies
+                    soundManager.playSound("final_hit");
+                }
+            }
+        }
+    }
+
     private void runCinematicClearSequence() {
         sequenceTimeElapsed++;
-        if (clearSkillTargetIndex >= targetsToClear.size()) {
+        if (clearSkillTargetIndex >= targetsToClear.count()) {
             clearSkillSequenceStep = 3;
         }
 
         switch (clearSkillSequenceStep) {
             case 1 -> {
-                if (clearSkillTargetIndex < targetsToClear.size()) {
-                    Projectile target = targetsToClear.get(clearSkillTargetIndex);
+                if (clearSkillTargetIndex < targetsToClear.count()) {
+                    int target = clearSkillTargetIndex;
 
                     int startX = initialX;
                     int startY = initialY;
-                    int endX = (int) target.getX() + target.getSize()/2 - player.getWidth()/2;
-                    int endY = (int) target.getY() + target.getSize()/2 - player.getHeight()/2;
+                    int endX = targetsToClear.getX(target) + targetsToClear.getSize(target)/2 - player.getWidth()/2;
+                    int endY = targetsToClear.getY(target) + targetsToClear.getSize(target)/2 - player.getHeight()/2;
 
-                    float ratio = Math.min(1.0f, (float)(sequenceTimeElapsed) / MOVEMENT_DURATION);
+                    int movementTicks = clock.scaleFrames(MOVEMENT_DURATION);
+                    float ratio = Math.min(1.0f, (float)(sequenceTimeElapsed) / movementTicks);
 
                     int straightX = (int) (startX + (endX - startX) * ratio);
                     int straightY = (int) (startY + (endY - startY) * ratio);
@@ -418,7 +571,7 @@ while (it.hasNext()) {
                     currentTiltAngle = Math.atan2(deltaY, deltaX);
 
                     double perpendicularAngle = currentTiltAngle + Math.PI/2;
-                    double oscillation = Math.sin(sequenceTimeElapsed * zigzagFrequency * 2 * Math.PI / MOVEMENT_DURATION);
+                    double oscillation = Math.sin(sequenceTimeElapsed * zigzagFrequency * 2 * Math.PI / movementTicks);
                     int offsetX = (int) (Math.cos(perpendicularAngle) * oscillation * zigzagAmplitude);
                     int offsetY = (int) (Math.sin(perpendicularAngle) * oscillation * zigzagAmplitude);
 
@@ -431,9 +584,10 @@ while (it.hasNext()) {
                     storeTrailFrame();
 
                     if (ratio >= 1.0f) {
+                        emitProjectileDestroyed(targetsToClear, clearSkillTargetIndex);
                         clearSkillSequenceStep = 2;
                         sequenceTimeElapsed = 0;
-                        currentTargetDestroyFramesLeft = DESTROY_DURATION;
+                        currentTargetDestroyFramesLeft = clock.scaleFrames(DESTROY_DURATION);
                         currentTiltAngle = 0;
                     }
                 } else {
@@ -447,7 +601,7 @@ while (it.hasNext()) {
                     initialY = player.getY();
                     clearSkillTargetIndex++;
                     sequenceTimeElapsed = 0;
-                    if (clearSkillTargetIndex < targetsToClear.size()) {
+                    if (clearSkillTargetIndex < targetsToClear.count()) {
                         clearSkillSequenceStep = 1;
                     } else {
                         clearSkillSequenceStep = 3;
@@ -497,25 +651,53 @@ while (it.hasNext()) {
     }
 
 
-    // Shield collision helper (same maths as arena used previously)
-    private boolean checkShieldCollision(Projectile p) {
-        int shieldCenterX = player.getX() + player.getWidth()/2;
-        int shieldCenterY = player.getY() + player.getHeight()/2;
+    // Shield collision helper: swept circle vs circle (player moved (x0,y0) -> (x1,y1))
+    private boolean checkShieldCollision(int i, int x0, int y0, int x1, int y1) {
+        double half = projectiles.getSize(i) / 2.0;
+        double cx = player.getWidth() / 2.0, cy = player.getHeight() / 2.0;
+        return SweptCollision.circles(
+                x0 + cx, y0 + cy, x1 + cx, y1 + cy,
+                projectiles.getPrevX(i) + half, projectiles.getPrevY(i) + half,
+                projectiles.getExactX(i) + half, projectiles.getExactY(i) + half,
+                getShieldRadius() + half) >= 0;
+    }
+
+    // Player hitbox: swept AABB vs AABB
+    private boolean checkPlayerCollision(int i, int x0, int y0, int x1, int y1) {
+        int size = projectiles.getSize(i);
+        return SweptCollision.aabb(
+                x0, y0, x1, y1, player.getWidth(), player.getHeight(),
+                projectiles.getPrevX(i), projectiles.getPrevY(i),
+                projectiles.getExactX(i), projectiles.getExactY(i), size, size) >= 0;
+    }
 
-        int shieldRadius = Math.max(player.getWidth(), player.getHeight())/2 + 15;
-        double dist = Math.sqrt(Math.pow(p.getX() + p.getSize()/2 - shieldCenterX, 2)
-                + Math.pow(p.getY() + p.getSize()/2 - shieldCenterY, 2));
-        return dist < (shieldRadius + p.getSize()/2);
+    private int getShieldRadius() {
+        return Math.max(player.getWidth(), player.getHeight())/2 + 15;
     }
 
     // Trail storage (for sandevistan)
     private void storeTrailFrame() {
+        if (++trailTicks < clock.scaleFrames(1)) return;
+        trailTicks = 0;
         BufferedImage frame = player.getCurrentFrame();
         trailFrames[trailIndex] = frame;
         trailPositions[trailIndex][0] = player.getX();
         trailPositions[trailIndex][1] = player.getY();
-        trailIndex = (trailIndex + 1) % TRAIL_SIZE;
+        trailIndex = (trailIndex + 1) % trailLength;
     }
+
+    // Shrinks/grows the trail ring; frames beyond the new length are dropped
+    public void setTrailLength(int length) {
+        length = Math.max(1, Math.min(TRAIL_SIZE, length));
+        if (length == trailLength) return;
+        for (int i = length; i < TRAIL_SIZE; i++) trailFrames[i] = null;
+        trailLength = length;
+        if (trailIndex >= length) trailIndex = 0;
+    }
+
+    public void setMaxBlinkGhosts(int max) { this.maxBlinkGhosts = Math.max(2, max); }
+    public int getTrailLength() { return trailLength; }
+    public int getMaxBlinkGhosts() { return maxBlinkGhosts; }
     
     private void triggerRevive() {
     player.setLives(player.getLives() + 1);
@@ -526,8 +708,11 @@ while (it.hasNext()) {
     // Getters used by GameArena drawing
     // ===============================
     public Player getPlayer() { return player; }
-    public List<Projectile> getProjectiles() { return projectiles; }
+    public ProjectileBuffer getProjectiles() { return projectiles; }
+    public SpatialGrid getProjectileGrid() { return projectileGrid; }
+    public ProjectileWorkers getProjectileWorkers() { return projectileWorkers; }
     public List<BlinkGhost> getBlinkGhosts() { return blinkGhosts; }
+    public ObjectPool<BlinkGhost> getBlinkGhostPool() { return blinkGhostPool; }
     public BufferedImage[] getTrailFrames() { return trailFrames; }
     public int[][] getTrailPositions() { return trailPositions; }
     public boolean isSandevistanActive() { return sandevistanActive; }
@@ -539,19 +724,26 @@ while (it.hasNext()) {
     public int getFlashingFramesLeft() { return flashingFramesLeft; }
     public double getCurrentTiltAngle() { return currentTiltAngle; }
     public int getClearSequenceStep() { return clearSkillSequenceStep; }
-    public List<Projectile> getClearTargets() { return targetsToClear; }
+    public ProjectileBuffer getClearTargets() { return targetsToClear; }
     public int getClearTargetIndex() { return clearSkillTargetIndex; }
     public int getCurrentTargetDestroyFramesLeft() { return currentTargetDestroyFramesLeft; }
     public int getTrailSize() { return TRAIL_SIZE; }
     public boolean isReviveAvailable() { return reviveAvailable; }
 
     // Inner class used for blink ghosts
-    public static class BlinkGhost {
+    public static class BlinkGhost implements ObjectPool.Poolable {
         public int x, y;
         public BufferedImage image;
         public float alpha;
+        public BlinkGhost() {}
         public BlinkGhost(int x, int y, BufferedImage image, float alpha) {
+            set(x, y, image, alpha);
+        }
+        public BlinkGhost set(int x, int y, BufferedImage image, float alpha) {
             this.x = x; this.y = y; this.image = image; this.alpha = alpha;
+            return this;
         }
+        @Override
+        public void reset() { image = null; alpha = 0f; }
     }
 }
@@ -0,0 +1,424 @@
+package Main;
+
+import java.awt.*;
+import java.awt.image.*;
+import java.util.Arrays;
+
+/**
+ * GlowLayer
+ * Soft translucent effects (shield, revive wings, beam, pulse) rasterized at
+ * half or quarter resolution, blurred, and added onto the frame in one blit.
+ *
+ * - Effects are recorded into a DrawList in world coordinates; {@link #render}
+ *   draws them scaled down into an ARGB (premultiplied) buffer. Only the lit
+ *   rects (effect bounds plus the blur margin, merged where they overlap) are
+ *   blurred, upscaled, composited and later cleared.
+ * - Separable box blur (horizontal then vertical, twice: close to a tent) on the
+ *   raw int[] raster.
+ * - Lit rects are then upscaled (bilinear, in Java on the int[] rasters) to
+ *   world size, because Java2D's transformed blits with a custom composite are
+ *   several times slower than this.
+ * - {@link #composite} adds it 1:1 with an additive composite: dst + src,
+ *   clamped. Overlapping glows brighten instead of stacking translucent layers.
+ *
+ * -Dmatrixdodger.glowScale=2 (half, default) or 4 (quarter resolution).
+ * render() on the render thread; composite() from any thread (band rendering).
+ */
+public final class GlowLayer {
+
+    private static final int PASSES = 2;
+
+    private final int worldWidth, worldHeight;
+    private final int scale;
+    private final int radius; // blur radius in low-res pixels
+    private final BufferedImage buffer;
+    private final int[] pixels;
+    private final int stride;
+    private int[] scratch = new int[0];
+    private int[] columnSums = new int[0], ring = new int[0];
+
+    // the lit rect bilinearly upscaled to world size, so the additive blit is 1:1
+    private final BufferedImage upscaled;
+    private final int[] upscaledPixels;
+    private int[] columnX0 = new int[0], columnX1 = new int[0], columnF = new int[0];
+
+    // lit areas of the last render (disjoint): low-res pixels and world coordinates.
+    // Separate rects keep e.g. a tall thin beam from lighting its whole bounding box.
+    private static final int MAX_RECTS = 8;
+    private final Rectangle[] lit = new Rectangle[MAX_RECTS];
+    private final Rectangle[] litWorld = new Rectangle[MAX_RECTS];
+    private int litCount = 0;
+    private final Rectangle bounds = new Rectangle();
+    private final Rectangle cell = new Rectangle();
+
+    public GlowLayer(int worldWidth, int worldHeight, int scale, int radius) {
+        this.worldWidth = worldWidth;
+        this.worldHeight = worldHeight;
+        this.scale = Math.max(1, scale);
+        this.radius = Math.max(0, radius);
+        int w = (worldWidth + this.scale - 1) / this.scale;
+        int h = (worldHeight + this.scale - 1) / this.scale;
+        // plain (unmanaged) image: the blur writes its pixels directly
+        this.buffer = new BufferedImage(w, h, BufferedImage.TYPE_INT_ARGB_PRE);
+        this.pixels = ((DataBufferInt) buffer.getRaster().getDataBuffer()).getData();
+        this.stride = w;
+        this.upscaled = new BufferedImage(worldWidth, worldHeight, BufferedImage.TYPE_INT_ARGB_PRE);
+        this.upscaledPixels = ((DataBufferInt) upscaled.getRaster().getDataBuffer()).getData();
+        for (int i = 0; i < MAX_RECTS; i++) {
+            lit[i] = new Rectangle();
+            litWorld[i] = new Rectangle();
+        }
+    }
+
+    public static GlowLayer fromProperties(int worldWidth, int worldHeight) {
+        int scale = Integer.getInteger("matrixdodger.glowScale", 2) >= 4 ? 4 : 2;
+        return new GlowLayer(worldWidth, worldHeight, scale, scale == 2 ? 3 : 2);
+    }
+
+    // ===============================
+    // Render (render thread)
+    // ===============================
+    public void render(DrawList effects) {
+        for (int i = 0; i < litCount; i++) clear(lit[i]);
+        litCount = 0;
+
+        // low-res rects covering each effect plus the blur spread, merged where they touch
+        int margin = radius * PASSES + 1;
+        for (int i = 0; i < effects.count(); i++) {
+            effects.bounds(i, bounds);
+            if (bounds.isEmpty()) continue;
+            int x0 = Math.max(0, Math.floorDiv(bounds.x, scale) - margin);
+            int y0 = Math.max(0, Math.floorDiv(bounds.y, scale) - margin);
+            int x1 = Math.min(buffer.getWidth(), Math.floorDiv(bounds.x + bounds.width, scale) + 1 + margin);
+            int y1 = Math.min(buffer.getHeight(), Math.floorDiv(bounds.y + bounds.height, scale) + 1 + margin);
+            if (x1 <= x0 || y1 <= y0) continue;
+            cell.setBounds(x0, y0, x1 - x0, y1 - y0);
+            addLit(cell);
+        }
+        if (litCount == 0) return;
+
+        effects.sort();
+        Graphics2D g = buffer.createGraphics();
+        g.scale(1.0 / scale, 1.0 / scale);
+        effects.execute(g);
+        g.dispose();
+
+        for (int i = 0; i < litCount; i++) {
+            Rectangle r = lit[i];
+            for (int p = 0; p < PASSES; p++) {
+                blurRows(r);
+                blurColumns(r);
+            }
+            litWorld[i].setBounds(r.x * scale, r.y * scale,
+                    Math.min(worldWidth - r.x * scale, r.width * scale), Math.min(worldHeight - r.y * scale, r.height * scale));
+            upscale(r, litWorld[i]);
+        }
+    }
+
+    // Adds r (clobbered) to the lit set, merging every rect it overlaps
+    private void addLit(Rectangle r) {
+        boolean merged = true;
+        while (merged) {
+            merged = false;
+            for (int j = 0; j < litCount; j++) {
+                if (!lit[j].intersects(r)) continue;
+                r.add(lit[j]);
+                lit[j].setBounds(lit[--litCount]);
+                merged = true;
+                break;
+            }
+            if (!merged && litCount == MAX_RECTS) { // full: fold the last rect in
+                r.add(lit[--litCount]);
+                merged = true;
+            }
+        }
+        lit[litCount++].setBounds(r);
+    }
+
+    private void clear(Rectangle r) {
+        for (int y = r.y; y < r.y + r.height; y++) {
+            int row = y * stride;
+            Arrays.fill(pixels, row + r.x, row + r.x + r.width, 0);
+        }
+    }
+
+    // ===============================
+    // Box blur (premultiplied ARGB, running sums per channel, zero outside)
+    // ===============================
+    private void blurRows(Rectangle r) {
+        if (radius == 0) return;
+        ensureScratch(r.width);
+        int inv = reciprocal();
+        for (int y = r.y; y < r.y + r.height; y++) {
+            int row = y * stride + r.x;
+            if (isClear(row, r.width)) continue; // nothing to spread on this row
+            System.arraycopy(pixels, row, scratch, 0, r.width);
+            int sa = 0, sr = 0, sg = 0, sb = 0;
+            for (int i = 0; i < Math.min(radius, r.width); i++) {
+                int c = scratch[i];
+                sa += c >>> 24;
+                sr += (c >> 16) & 0xFF;
+                sg += (c >> 8) & 0xFF;
+                sb += c & 0xFF;
+            }
+            for (int i = 0; i < r.width; i++) {
+                int add = i + radius;
+                if (add < r.width) {
+                    int c = scratch[add];
+                    sa += c >>> 24;
+                    sr += (c >> 16) & 0xFF;
+                    sg += (c >> 8) & 0xFF;
+                    sb += c & 0xFF;
+                }
+                int drop = i - radius - 1;
+                if (drop >= 0) {
+                    int c = scratch[drop];
+                    sa -= c >>> 24;
+                    sr -= (c >> 16) & 0xFF;
+                    sg -= (c >> 8) & 0xFF;
+                    sb -= c & 0xFF;
+                }
+                pixels[row + i] = pack(sa, sr, sg, sb, inv);
+            }
+        }
+    }
+
+    // Row by row over all columns at once (sequential memory); a ring keeps the
+    // original rows that are still to be subtracted after being overwritten
+    private void blurColumns(Rectangle r) {
+        if (radius == 0) return;
+        int w = r.width, n = r.height, ringRows = radius * 2 + 2;
+        if (columnSums.length < w * 4) columnSums = new int[w * 4];
+        if (ring.length < ringRows * w) ring = new int[ringRows * w];
+        Arrays.fill(columnSums, 0, w * 4, 0);
+        int inv = reciprocal();
+
+        for (int j = 0; j < Math.min(radius, n); j++) addRow(r, j, j % ringRows);
+        for (int i = 0; i < n; i++) {
+            if (i + radius < n) addRow(r, i + radius, (i + radius) % ringRows);
+            if (i - radius - 1 >= 0) subtractRing((i - radius - 1) % ringRows, w);
+            int row = (r.y + i) * stride + r.x;
+            for (int x = 0, k = 0; x < w; x++, k += 4) {
+                pixels[row + x] = pack(columnSums[k], columnSums[k + 1], columnSums[k + 2], columnSums[k + 3], inv);
+            }
+        }
+    }
+
+    private void addRow(Rectangle r, int j, int slot) {
+        int w = r.width;
+        int row = (r.y + j) * stride + r.x;
+        System.arraycopy(pixels, row, ring, slot * w, w);
+        for (int x = 0, k = 0; x < w; x++, k += 4) {
+            int c = pixels[row + x];
+            if (c == 0) continue;
+            columnSums[k] += c >>> 24;
+            columnSums[k + 1] += (c >> 16) & 0xFF;
+            columnSums[k + 2] += (c >> 8) & 0xFF;
+            columnSums[k + 3] += c & 0xFF;
+        }
+    }
+
+    private void subtractRing(int slot, int w) {
+        int base = slot * w;
+        for (int x = 0, k = 0; x < w; x++, k += 4) {
+            int c = ring[base + x];
+            if (c == 0) continue;
+            columnSums[k] -= c >>> 24;
+            columnSums[k + 1] -= (c >> 16) & 0xFF;
+            columnSums[k + 2] -= (c >> 8) & 0xFF;
+            columnSums[k + 3] -= c & 0xFF;
+        }
+    }
+
+    private boolean isClear(int offset, int n) {
+        for (int i = offset; i < offset + n; i++) {
+            if (pixels[i] != 0) return false;
+        }
+        return true;
+    }
+
+    // sum * reciprocal >>> 16 == sum / window for sums of 8-bit values
+    private int reciprocal() {
+        return (1 << 16) / (radius * 2 + 1) + 1;
+    }
+
+    private static int pack(int a, int r, int g, int b, int inv) {
+        return (a * inv >>> 16) << 24 | (r * inv >>> 16) << 16 | (g * inv >>> 16) << 8 | (b * inv >>> 16);
+    }
+
+    private void ensureScratch(int n) {
+        if (scratch.length < n) scratch = new int[n];
+    }
+
+    // ===============================
+    // Bilinear upscale of lit into litWorld (8-bit weights, two channels per multiply)
+    // ===============================
+    private void upscale(Rectangle lit, Rectangle litWorld) {
+        int w = litWorld.width, h = litWorld.height;
+        if (columnX0.length < w) {
+            columnX0 = new int[w];
+            columnX1 = new int[w];
+            columnF = new int[w];
+        }
+        for (int x = 0; x < w; x++) {
+            int u = sampleFixed(x);
+            columnX0[x] = clamp(u >> 8, lit.width);
+            columnX1[x] = clamp((u >> 8) + 1, lit.width);
+            columnF[x] = u & 0xFF;
+        }
+        ensureScratch(lit.width);
+        for (int y = 0; y < h; y++) {
+            // vertical pass into one low-res row, then horizontal per output pixel
+            int v = sampleFixed(y);
+            int row0 = (lit.y + clamp(v >> 8, lit.height)) * stride + lit.x;
+            int row1 = (lit.y + clamp((v >> 8) + 1, lit.height)) * stride + lit.x;
+            int fy = v & 0xFF;
+            int out = (litWorld.y + y) * worldWidth + litWorld.x;
+            if (isClear(row0, lit.width) && isClear(row1, lit.width)) {
+                Arrays.fill(upscaledPixels, out, out + w, 0);
+                continue;
+            }
+            for (int x = 0; x < lit.width; x++) scratch[x] = lerp(pixels[row0 + x], pixels[row1 + x], fy);
+
+            for (int x = 0; x < w; x++) {
+                int a = scratch[columnX0[x]], b = scratch[columnX1[x]];
+                upscaledPixels[out + x] = (a | b) == 0 ? 0 : lerp(a, b, columnF[x]);
+            }
+        }
+    }
+
+    // low-res sample position of output pixel i, relative to the lit rect, in 1/256 px
+    private int sampleFixed(int i) {
+        return ((2 * i + 1) << 8) / (2 * scale) - 128;
+    }
+
+    private static int clamp(int i, int n) {
+        return i < 0 ? 0 : Math.min(i, n - 1);
+    }
+
+    private static int lerp(int a, int b, int f) {
+        int g = 256 - f;
+        int rb = ((a & 0x00FF00FF) * g + (b & 0x00FF00FF) * f) >>> 8;
+        int ag = (((a >>> 8) & 0x00FF00FF) * g + ((b >>> 8) & 0x00FF00FF) * f) >>> 8;
+        return (rb & 0x00FF00FF) | ((ag & 0x00FF00FF) << 8);
+    }
+
+    // ===============================
+    // Composite (any thread)
+    // ===============================
+    // Adds the glow onto g (world coordinates; the caller's transform applies)
+    public void composite(Graphics2D g) {
+        if (litCount == 0) return;
+        Rectangle clip = g.getClipBounds();
+        Graphics2D gg = null;
+        for (int i = 0; i < litCount; i++) {
+            Rectangle r = litWorld[i];
+            if (clip != null && !clip.intersects(r)) continue; // e.g. a band without this glow
+            if (gg == null) {
+                gg = (Graphics2D) g.create();
+                gg.setComposite(ADD);
+            }
+            int x1 = r.x + r.width, y1 = r.y + r.height;
+            gg.drawImage(upscaled, r.x, r.y, x1, y1, r.x, r.y, x1, y1, null);
+        }
+        if (gg != null) gg.dispose();
+    }
+
+    public boolean isEmpty() { return litCount == 0; }
+    public int getScale() { return scale; }
+    public int getWorldWidth() { return worldWidth; }
+    public int getWorldHeight() { return worldHeight; }
+
+    // ===============================
+    // Additive composite: dst.rgb + src.rgb (premultiplied), clamped; dst alpha kept
+    // ===============================
+    private static final Composite ADD = (srcModel, dstModel, hints) -> isPackedRgb(srcModel) && isPackedRgb(dstModel)
+            ? new PackedAdd(srcModel.isAlphaPremultiplied(), srcModel.hasAlpha())
+            : new SampleAdd(srcModel.isAlphaPremultiplied());
+
+    // int pixels with the standard 0xRRGGBB masks (every compatible/INT_* image)
+    private static boolean isPackedRgb(ColorModel model) {
+        return model instanceof DirectColorModel dcm && dcm.getTransferType() == DataBuffer.TYPE_INT
+                && dcm.getRedMask() == 0xFF0000 && dcm.getGreenMask() == 0xFF00 && dcm.getBlueMask() == 0xFF;
+    }
+
+    private static final class PackedAdd implements CompositeContext {
+        private final boolean premultiplied, hasAlpha;
+        private int[] src = new int[0], dst = new int[0];
+
+        PackedAdd(boolean premultiplied, boolean hasAlpha) {
+            this.premultiplied = premultiplied;
+            this.hasAlpha = hasAlpha;
+        }
+
+        @Override
+        public void compose(Raster in, Raster dstIn, WritableRaster dstOut) {
+            int w = Math.min(in.getWidth(), dstIn.getWidth());
+            int h = Math.min(in.getHeight(), dstIn.getHeight());
+            if (src.length < w) {
+                src = new int[w];
+                dst = new int[w];
+            }
+            for (int y = 0; y < h; y++) {
+                in.getDataElements(in.getMinX(), in.getMinY() + y, w, 1, src);
+                dstIn.getDataElements(dstIn.getMinX(), dstIn.getMinY() + y, w, 1, dst);
+                for (int x = 0; x < w; x++) {
+                    int s = src[x];
+                    int a = hasAlpha ? s >>> 24 : 255;
+                    if (a == 0) continue;
+                    int r = (s >> 16) & 0xFF, g = (s >> 8) & 0xFF, b = s & 0xFF;
+                    if (!premultiplied && a < 255) {
+                        r = r * a / 255;
+                        g = g * a / 255;
+                        b = b * a / 255;
+                    }
+                    int d = dst[x];
+                    r = Math.min(255, ((d >> 16) & 0xFF) + r);
+                    g = Math.min(255, ((d >> 8) & 0xFF) + g);
+                    b = Math.min(255, (d & 0xFF) + b);
+                    dst[x] = (d & 0xFF000000) | r << 16 | g << 8 | b;
+                }
+                dstOut.setDataElements(dstOut.getMinX(), dstOut.getMinY() + y, w, 1, dst);
+            }
+        }
+
+        @Override
+        public void dispose() {}
+    }
+
+    // any other raster layout, sample by sample
+    private static final class SampleAdd implements CompositeContext {
+        private final boolean premultiplied;
+        private int[] src = new int[0], dst = new int[0];
+
+        SampleAdd(boolean premultiplied) {
+            this.premultiplied = premultiplied;
+        }
+
+        @Override
+        public void compose(Raster in, Raster dstIn, WritableRaster dstOut) {
+            int w = Math.min(in.getWidth(), dstIn.getWidth());
+            int h = Math.min(in.getHeight(), dstIn.getHeight());
+            int sBands = in.getNumBands(), dBands = dstIn.getNumBands();
+            if (src.length < w * sBands) src = new int[w * sBands];
+            if (dst.length < w * dBands) dst = new int[w * dBands];
+            for (int y = 0; y < h; y++) {
+                in.getPixels(in.getMinX(), in.getMinY() + y, w, 1, src);
+                dstIn.getPixels(dstIn.getMinX(), dstIn.getMinY() + y, w, 1, dst);
+                for (int x = 0; x < w; x++) {
+                    int s = x * sBands, d = x * dBands;
+                    int a = sBands > 3 ? src[s + 3] : 255;
+                    if (a == 0) continue;
+                    for (int c = 0; c < 3; c++) {
+                        int v = premultiplied ? src[s + c] : src[s + c] * a / 255;
+                        dst[d + c] = Math.min(255, dst[d + c] + v);
+                    }
+                }
+                dstOut.setPixels(dstOut.getMinX(), dstOut.getMinY() + y, w, 1, dst);
+            }
+        }
+
+        @Override
+        public void dispose() {}
+    }
+}
@@ -0,0 +1,191 @@
+package Main;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * GlyphAtlas
+ * Characters of one font/color pre-rasterized once into a sprite sheet, one row
+ * per brightness level, so Matrix rain and screen text draw as image blits
+ * instead of going through the text layout pipeline every paint.
+ *
+ * - Atlases and fonts are cached: get(...) with the same arguments returns the
+ *   same instance (the Font objects are shared too, see {@link #font}).
+ * - Level levels-1 is the full color; lower levels fade its alpha linearly.
+ * - {@link #randomGlyph(int)} reads a precomputed random table, so rain can
+ *   flicker without calling an RNG per glyph.
+ *
+ * Characters not in the atlas are skipped (advance by a space).
+ */
+public final class GlyphAtlas {
+
+    public static final String BINARY = "01";
+    public static final String MATRIX = "ABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789@#$%^&*";
+    public static final String ASCII;
+    static {
+        StringBuilder sb = new StringBuilder();
+        for (char c = 32; c < 127; c++) sb.append(c);
+        ASCII = sb.toString();
+    }
+
+    private static final int RANDOM_TABLE_SIZE = 4096; // power of two
+    private static final Map<String, Font> FONTS = new HashMap<>();
+    private static final Map<String, GlyphAtlas> ATLASES = new HashMap<>();
+
+    private final String chars;
+    private final int levels;
+    private final int[] indexOf;      // char -> glyph index, -1 if missing
+    private final int[] advance;      // per glyph
+    private final BufferedImage[][] glyphs; // [level][glyph], views into one sheet cropped to the ink
+    private final int[] inkX, inkY;         // crop offset inside the glyph cell
+    private final int pad;
+    private final int ascent;
+    private final int height;
+    private final int spaceAdvance;
+    private final int[] randomTable = new int[RANDOM_TABLE_SIZE];
+
+    // ===============================
+    // Cache
+    // ===============================
+    public static synchronized Font font(String family, int style, int size) {
+        return FONTS.computeIfAbsent(family + "|" + style + "|" + size, k -> new Font(family, style, size));
+    }
+
+    public static synchronized GlyphAtlas get(Font font, String chars, Color color, int levels) {
+        String key = font.getFamily() + "|" + font.getStyle() + "|" + font.getSize() + "|" + chars.hashCode() + "|"
+                + chars.length() + "|" + Integer.toHexString(color.getRGB()) + "|" + levels;
+        return ATLASES.computeIfAbsent(key, k -> new GlyphAtlas(font, chars, color, levels));
+    }
+
+    // ===============================
+    // Build
+    // ===============================
+    private GlyphAtlas(Font font, String chars, Color color, int levels) {
+        this.chars = chars;
+        this.levels = Math.max(1, levels);
+
+        // metrics from a scratch graphics
+        BufferedImage scratch = new BufferedImage(1, 1, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D sg = scratch.createGraphics();
+        FontMetrics fm = sg.getFontMetrics(font);
+        sg.dispose();
+
+        this.ascent = fm.getAscent();
+        this.height = fm.getAscent() + fm.getDescent();
+        this.spaceAdvance = fm.charWidth(' ');
+        this.pad = Math.max(1, font.getSize() / 4); // room for glyphs overhanging their advance
+
+        int maxChar = 0;
+        for (int i = 0; i < chars.length(); i++) maxChar = Math.max(maxChar, chars.charAt(i));
+        indexOf = new int[maxChar + 1];
+        Arrays.fill(indexOf, -1);
+        advance = new int[chars.length()];
+        int cellW = 1;
+        for (int i = 0; i < chars.length(); i++) {
+            indexOf[chars.charAt(i)] = i;
+            advance[i] = fm.charWidth(chars.charAt(i));
+            cellW = Math.max(cellW, advance[i]);
+        }
+        cellW += pad * 2;
+        int cellH = height + pad * 2;
+
+        BufferedImage sheet = ImageAssets.createCompatible(cellW * chars.length(), cellH * this.levels);
+        Graphics2D g = sheet.createGraphics();
+        g.setFont(font);
+        for (int lv = 0; lv < this.levels; lv++) {
+            int alpha = color.getAlpha() * (lv + 1) / this.levels;
+            g.setColor(new Color(color.getRed(), color.getGreen(), color.getBlue(), alpha));
+            for (int i = 0; i < chars.length(); i++) {
+                g.drawString(String.valueOf(chars.charAt(i)), i * cellW + pad, lv * cellH + pad + ascent);
+            }
+        }
+        g.dispose();
+
+        // crop every glyph to its ink (measured on the brightest row): blits touch only real pixels
+        glyphs = new BufferedImage[this.levels][chars.length()];
+        inkX = new int[chars.length()];
+        inkY = new int[chars.length()];
+        int top = (this.levels - 1) * cellH;
+        for (int i = 0; i < chars.length(); i++) {
+            int minX = cellW, minY = cellH, maxX = -1, maxY = -1;
+            for (int yy = 0; yy < cellH; yy++) {
+                for (int xx = 0; xx < cellW; xx++) {
+                    if ((sheet.getRGB(i * cellW + xx, top + yy) >>> 24) == 0) continue;
+                    minX = Math.min(minX, xx);
+                    maxX = Math.max(maxX, xx);
+                    minY = Math.min(minY, yy);
+                    maxY = Math.max(maxY, yy);
+                }
+            }
+            if (maxX < 0) { minX = 0; minY = 0; maxX = 0; maxY = 0; } // blank glyph (space)
+            inkX[i] = minX;
+            inkY[i] = minY;
+            for (int lv = 0; lv < this.levels; lv++) {
+                glyphs[lv][i] = sheet.getSubimage(i * cellW + minX, lv * cellH + minY, maxX - minX + 1, maxY - minY + 1);
+            }
+        }
+
+        Random random = new Random(chars.hashCode());
+        for (int i = 0; i < RANDOM_TABLE_SIZE; i++) randomTable[i] = random.nextInt(chars.length());
+    }
+
+    // ===============================
+    // Draw
+    // ===============================
+    // (x, baselineY) is where drawString would have put the glyph
+    public void drawGlyph(Graphics g, int glyph, int level, int x, int baselineY) {
+        g.drawImage(glyphs[level][glyph], x - pad + inkX[glyph], baselineY - ascent - pad + inkY[glyph], null);
+    }
+
+    public void drawString(Graphics g, String text, int x, int baselineY, int level) {
+        for (int i = 0; i < text.length(); i++) {
+            int glyph = indexOf(text.charAt(i));
+            if (glyph < 0) {
+                x += spaceAdvance;
+                continue;
+            }
+            drawGlyph(g, glyph, level, x, baselineY);
+            x += advance[glyph];
+        }
+    }
+
+    // Centered horizontally in [0, width)
+    public void drawCentered(Graphics g, String text, int width, int baselineY) {
+        drawString(g, text, (width - stringWidth(text)) / 2, baselineY, levels - 1);
+    }
+
+    public int stringWidth(String text) {
+        int w = 0;
+        for (int i = 0; i < text.length(); i++) {
+            int glyph = indexOf(text.charAt(i));
+            w += glyph < 0 ? spaceAdvance : advance[glyph];
+        }
+        return w;
+    }
+
+    // ===============================
+    // Lookup
+    // ===============================
+    public int indexOf(char c) {
+        return c < indexOf.length ? indexOf[c] : -1;
+    }
+
+    // Pseudo-random glyph index for any int (e.g. column * 31 + row + frame)
+    public int randomGlyph(int n) {
+        return randomTable[n & (RANDOM_TABLE_SIZE - 1)];
+    }
+
+    // Level for a 0..255 alpha
+    public int levelFor(int alpha) {
+        return Math.max(0, Math.min(levels - 1, alpha * levels / 256));
+    }
+
+    public int glyphCount() { return chars.length(); }
+    public int levels() { return levels; }
+    public int getAscent() { return ascent; }
+    public int getHeight() { return height; }
+}
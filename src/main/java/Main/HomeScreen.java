@@ -15,6 +15,8 @@ import javax.swing.Timer;
 public class HomeScreen extends JPanel implements ActionListener {
     private JButton playButton;
     private JButton skillsButton;
+    private JButton modeButton;
+    private JButton qualityButton;
     private JLabel currencyLabel;
     private JLabel characterLabel;
     private Timer idleAnimationTimer;
@@ -27,6 +29,9 @@ public class HomeScreen extends JPanel implements ActionListener {
     private Map<String, Boolean> equippedSkills = new HashMap<>();
     private List<String> equippedOrder = new ArrayList<>(); // order => R, F, V
 
+    // Arena mode (projectile-vs-projectile collisions)
+    private GameManager.ProjectileCollisionMode arenaMode = GameManager.ProjectileCollisionMode.OFF;
+
     private SoundManager soundManager;
 
     public HomeScreen(SoundManager soundManager) {
@@ -49,6 +54,16 @@ public class HomeScreen extends JPanel implements ActionListener {
         layered.add(rain, Integer.valueOf(0));
         layered.add(ui, Integer.valueOf(1));
 
+        // window is resizable: keep both layers filling the pane
+        layered.addComponentListener(new java.awt.event.ComponentAdapter() {
+            @Override
+            public void componentResized(java.awt.event.ComponentEvent e) {
+                rain.setBounds(0, 0, layered.getWidth(), layered.getHeight());
+                ui.setBounds(0, 0, layered.getWidth(), layered.getHeight());
+                ui.revalidate();
+            }
+        });
+
         add(layered, BorderLayout.CENTER);
 
         initializeSkills();
@@ -99,6 +114,12 @@ private void initializeSkills() {
         titleLabel.setFont(new Font("VT323", Font.BOLD, 24));
         topPanel.add(titleLabel, BorderLayout.CENTER);
 
+        // Graphics preset (cycles QualityGovernor.Preset: LOW/MEDIUM/HIGH/ULTRA/AUTO), remembered between runs
+        qualityButton = createMatrixButton(qualityLabel());
+        qualityButton.setPreferredSize(new Dimension(150, 30));
+        qualityButton.addActionListener(this);
+        topPanel.add(qualityButton, BorderLayout.WEST);
+
         ui.add(topPanel, BorderLayout.NORTH);
 
         JPanel centerPanel = new JPanel(new GridBagLayout());
@@ -126,6 +147,10 @@ private void initializeSkills() {
         skillsButton.addActionListener(this);
         bottomPanel.add(skillsButton);
 
+        modeButton = createMatrixButton(modeLabel());
+        modeButton.addActionListener(this);
+        bottomPanel.add(modeButton);
+
         ui.add(bottomPanel, BorderLayout.SOUTH);
     }
 
@@ -151,8 +176,9 @@ private void initializeSkills() {
         return button;
     }
 
-    // Sprite frames
+    // Sprite frames (display-compatible; icons built once, not per animation step)
     private BufferedImage[] idleFrames;
+    private ImageIcon[] idleIcons;
     private final int TOTAL_FRAMES = 7;
 
     private void startIdleAnimation() {
@@ -166,12 +192,14 @@ private void initializeSkills() {
 
     private void loadSpriteFrames() {
         idleFrames = new BufferedImage[TOTAL_FRAMES];
+        idleIcons = new ImageIcon[TOTAL_FRAMES];
         try {
             for (int i = 0; i < TOTAL_FRAMES; i++) {
                 String path = "/sprites/GamerGabby/frame" + i + ".png";
                 URL resource = getClass().getResource(path);
                 if (resource != null) {
-                    idleFrames[i] = ImageIO.read(resource);
+                    idleFrames[i] = ImageAssets.prepare(ImageIO.read(resource));
+                    idleIcons[i] = new ImageIcon(idleFrames[i]);
                 } else {
                     System.err.println("❌ Missing sprite frame: " + path);
                 }
@@ -182,8 +210,8 @@ private void initializeSkills() {
     }
 
     private void updateCharacterAnimation() {
-        if (idleFrames != null && idleFrames[animationFrame] != null) {
-            characterLabel.setIcon(new ImageIcon(idleFrames[animationFrame]));
+        if (idleIcons != null && idleIcons[animationFrame] != null) {
+            characterLabel.setIcon(idleIcons[animationFrame]);
             characterLabel.setText(null);
         }
     }
@@ -247,12 +275,24 @@ private void initializeSkills() {
         } else if (e.getSource() == skillsButton) {
             soundManager.playSound("select");
             showSkillsMenu();
+        } else if (e.getSource() == modeButton) {
+            soundManager.playSound("select");
+            GameManager.ProjectileCollisionMode[] modes = GameManager.ProjectileCollisionMode.values();
+            arenaMode = modes[(arenaMode.ordinal() + 1) % modes.length];
+            modeButton.setText(modeLabel());
+        } else if (e.getSource() == qualityButton) {
+            soundManager.playSound("select");
+            QualityGovernor.Preset[] presets = QualityGovernor.Preset.values();
+            QualityGovernor governor = QualityGovernor.shared();
+            governor.setPreset(presets[(governor.getPreset().ordinal() + 1) % presets.length]);
+            qualityButton.setText(qualityLabel());
         }
     }
 
     private void startGame() {
         // Create GameManager, map equipped skills into its R/F/V slots, then create GameArena(manager)
         GameManager gm = new GameManager();
+        gm.setProjectileCollisionMode(arenaMode);
 
         // map names -> SkillType
         Map<String, GameManager.SkillType> nameToType = new HashMap<>();
@@ -291,6 +331,18 @@ private void initializeSkills() {
         SwingUtilities.invokeLater(arena::requestFocusInWindow);
     }
 
+    private String modeLabel() {
+        return switch (arenaMode) {
+            case OFF -> "MODE: CLASSIC";
+            case DEFLECT -> "MODE: RICOCHET";
+            case ANNIHILATE -> "MODE: ANNIHILATE";
+        };
+    }
+
+    private String qualityLabel() {
+        return "QUALITY: " + QualityGovernor.shared().getPreset();
+    }
+
     private void showSkillsMenu() {
         JDialog skillsDialog = new JDialog((Frame) SwingUtilities.getWindowAncestor(this), "Skills & Upgrades", true);
         skillsDialog.setSize(600, 400);
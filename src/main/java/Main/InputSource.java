@@ -0,0 +1,35 @@
+package Main;
+
+/**
+ * InputSource
+ * Where the Simulation reads player intent from each tick.
+ *
+ * - Held actions (LEFT/RIGHT) are sampled every tick.
+ * - Pressed actions are latched by the source and consumed once by the simulation,
+ *   so a quick tap between two ticks is never lost.
+ *
+ * Implementations: KeyboardInput (Swing keys), Simulation.RandomInput (headless bot).
+ */
+public interface InputSource {
+
+    enum Action {
+        LEFT,
+        RIGHT,
+        JUMP,
+        DASH,
+        SKILL_R,
+        SKILL_F,
+        SKILL_V
+    }
+
+    boolean isHeld(Action action);
+
+    // Returns true (once) if the action was pressed since the last call
+    boolean consumePressed(Action action);
+
+    // No input at all (idle player)
+    InputSource NONE = new InputSource() {
+        @Override public boolean isHeld(Action action) { return false; }
+        @Override public boolean consumePressed(Action action) { return false; }
+    };
+}
@@ -0,0 +1,66 @@
+package Main;
+
+import java.awt.event.KeyAdapter;
+import java.awt.event.KeyEvent;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * KeyboardInput
+ * InputSource fed by Swing key events (EDT) and read by the game loop thread.
+ * State is kept in two bitmasks (held / pressed-latch) so no locking is needed.
+ */
+public class KeyboardInput extends KeyAdapter implements InputSource {
+
+    private final AtomicInteger held = new AtomicInteger();
+    private final AtomicInteger pressed = new AtomicInteger();
+    private volatile boolean enabled = true;
+
+    @Override
+    public void keyPressed(KeyEvent e) {
+        if (!enabled) return;
+        Action a = map(e.getKeyCode());
+        if (a == null) return;
+        int bit = 1 << a.ordinal();
+        held.getAndUpdate(v -> v | bit);
+        pressed.getAndUpdate(v -> v | bit);
+    }
+
+    @Override
+    public void keyReleased(KeyEvent e) {
+        Action a = map(e.getKeyCode());
+        if (a == null) return;
+        int bit = 1 << a.ordinal();
+        held.getAndUpdate(v -> v & ~bit);
+    }
+
+    @Override
+    public boolean isHeld(Action action) {
+        return (held.get() & (1 << action.ordinal())) != 0;
+    }
+
+    @Override
+    public boolean consumePressed(Action action) {
+        int bit = 1 << action.ordinal();
+        return (pressed.getAndUpdate(v -> v & ~bit) & bit) != 0;
+    }
+
+    // Disabled while paused; drops everything so nothing fires on resume
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+        held.set(0);
+        pressed.set(0);
+    }
+
+    private static Action map(int key) {
+        return switch (key) {
+            case KeyEvent.VK_A, KeyEvent.VK_LEFT -> Action.LEFT;
+            case KeyEvent.VK_D, KeyEvent.VK_RIGHT -> Action.RIGHT;
+            case KeyEvent.VK_SPACE, KeyEvent.VK_UP -> Action.JUMP;
+            case KeyEvent.VK_Q -> Action.DASH;
+            case KeyEvent.VK_R -> Action.SKILL_R;
+            case KeyEvent.VK_F -> Action.SKILL_F;
+            case KeyEvent.VK_V -> Action.SKILL_V;
+            default -> null;
+        };
+    }
+}
@@ -0,0 +1,138 @@
+package Main;
+
+import java.awt.*;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+
+/**
+ * LogicalViewport
+ * Renders a fixed-size world into a fixed-size back buffer and scales that to
+ * the window with one blit, letterboxed to keep the aspect ratio.
+ *
+ * - World size = gameplay coordinates (arena bounds, spawning, clamping); it
+ *   never depends on the window.
+ * - Target size = pixels actually rasterized per frame:
+ *   -Dmatrixdodger.resolution=1024x768 (default, 1:1 with the world) or a
+ *   low-res retro target such as 512x384. Fill cost stays constant on 4K screens.
+ * - Upscaling is bilinear, except nearest-neighbor for retro targets (crisp
+ *   pixels): the world is a whole multiple (2x, 3x, ...) of the target on both
+ *   axes. -Dmatrixdodger.upscale=nearest|bilinear overrides the choice.
+ * - With a {@link BandRasterizer} set, the scene is drawn into the back buffer
+ *   band-parallel instead of on the calling thread.
+ *
+ * present() from one render thread at a time.
+ */
+public class LogicalViewport {
+
+    /** Draws the scene in world coordinates; must cover the whole world (it is the clear). */
+    public interface Scene {
+        void draw(Graphics2D g);
+    }
+
+    private final int worldWidth, worldHeight;
+    private final int targetWidth, targetHeight;
+    private final Object interpolation;
+    private final AffineTransform worldToTarget;
+    private BufferedImage target;
+    private BandRasterizer rasterizer; // optional
+
+    // placement of the last presented frame in window pixels
+    private final Rectangle viewport = new Rectangle();
+
+    public LogicalViewport(int worldWidth, int worldHeight, int targetWidth, int targetHeight) {
+        this(worldWidth, worldHeight, targetWidth, targetHeight, isRetro(worldWidth, worldHeight, targetWidth, targetHeight));
+    }
+
+    public LogicalViewport(int worldWidth, int worldHeight, int targetWidth, int targetHeight, boolean nearest) {
+        this.worldWidth = worldWidth;
+        this.worldHeight = worldHeight;
+        this.targetWidth = Math.max(1, targetWidth);
+        this.targetHeight = Math.max(1, targetHeight);
+        this.interpolation = nearest
+                ? RenderingHints.VALUE_INTERPOLATION_NEAREST_NEIGHBOR
+                : RenderingHints.VALUE_INTERPOLATION_BILINEAR;
+        this.worldToTarget = AffineTransform.getScaleInstance(
+                this.targetWidth / (double) worldWidth, this.targetHeight / (double) worldHeight);
+    }
+
+    // Whole-number downscale on both axes (e.g. 512x384 for a 1024x768 world)
+    public static boolean isRetro(int worldWidth, int worldHeight, int targetWidth, int targetHeight) {
+        return targetWidth > 0 && targetHeight > 0
+                && targetWidth < worldWidth && targetHeight < worldHeight
+                && worldWidth % targetWidth == 0 && worldHeight % targetHeight == 0;
+    }
+
+    // Target size from -Dmatrixdodger.resolution=WxH (defaults to the world size),
+    // upscale filter from -Dmatrixdodger.upscale=nearest|bilinear (defaults to nearest for retro targets)
+    public static LogicalViewport fromProperties(int worldWidth, int worldHeight) {
+        String res = System.getProperty("matrixdodger.resolution", worldWidth + "x" + worldHeight);
+        int w = worldWidth, h = worldHeight;
+        try {
+            String[] parts = res.toLowerCase().split("x");
+            w = Integer.parseInt(parts[0].trim());
+            h = Integer.parseInt(parts[1].trim());
+        } catch (RuntimeException e) {
+            System.out.println("Bad matrixdodger.resolution '" + res + "', using " + w + "x" + h);
+        }
+        String upscale = System.getProperty("matrixdodger.upscale", "auto");
+        boolean nearest = switch (upscale.toLowerCase()) {
+            case "nearest" -> true;
+            case "bilinear" -> false;
+            default -> isRetro(worldWidth, worldHeight, w, h);
+        };
+        return new LogicalViewport(worldWidth, worldHeight, w, h, nearest);
+    }
+
+    // ===============================
+    // Present
+    // ===============================
+    public void present(Graphics g, int windowWidth, int windowHeight, Scene scene) {
+        if (windowWidth <= 0 || windowHeight <= 0) return;
+        if (target == null) target = ImageAssets.createCompatible(targetWidth, targetHeight, Transparency.OPAQUE);
+
+        // 1. scene -> fixed back buffer
+        if (rasterizer != null) {
+            rasterizer.render(target, worldToTarget, scene);
+        } else {
+            Graphics2D tg = target.createGraphics();
+            tg.transform(worldToTarget);
+            scene.draw(tg);
+            tg.dispose();
+        }
+
+        // 2. back buffer -> window, letterboxed
+        double scale = Math.min(windowWidth / (double) targetWidth, windowHeight / (double) targetHeight);
+        int dw = (int) Math.round(targetWidth * scale);
+        int dh = (int) Math.round(targetHeight * scale);
+        int dx = (windowWidth - dw) / 2;
+        int dy = (windowHeight - dh) / 2;
+        viewport.setBounds(dx, dy, dw, dh);
+
+        g.setColor(Color.BLACK);
+        if (dx > 0) {
+            g.fillRect(0, 0, dx, windowHeight);
+            g.fillRect(dx + dw, 0, windowWidth - dx - dw, windowHeight);
+        }
+        if (dy > 0) {
+            g.fillRect(0, 0, windowWidth, dy);
+            g.fillRect(0, dy + dh, windowWidth, windowHeight - dy - dh);
+        }
+
+        if (dw == targetWidth && dh == targetHeight) {
+            g.drawImage(target, dx, dy, null);
+        } else {
+            Graphics2D sg = (Graphics2D) g.create();
+            sg.setRenderingHint(RenderingHints.KEY_INTERPOLATION, interpolation);
+            sg.drawImage(target, dx, dy, dw, dh, null);
+            sg.dispose();
+        }
+    }
+
+    public void setRasterizer(BandRasterizer rasterizer) { this.rasterizer = rasterizer; }
+    public BandRasterizer getRasterizer() { return rasterizer; }
+    public int getWorldWidth() { return worldWidth; }
+    public int getWorldHeight() { return worldHeight; }
+    public int getTargetWidth() { return targetWidth; }
+    public int getTargetHeight() { return targetHeight; }
+    public Rectangle getViewport() { return new Rectangle(viewport); }
+}
@@ -7,6 +7,9 @@ public class Main {
     private static SoundManager soundManager = new SoundManager();
 
     public static void main(String[] args) {
+        // Step 0: bake the effect flipbooks in the background while the splash shows
+        VfxLibrary.shared();
+
         // Step 1: Show the splash before starting Swing UI
         showSplashScreen();
 
@@ -14,7 +17,7 @@ public class Main {
         SwingUtilities.invokeLater(() -> {
             JFrame frame = new JFrame("Matrix Dodger");
             frame.setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
-            frame.setResizable(false);
+            configureWindow(frame);
 
             // Card layout for switching screens
             CardLayout cardLayout = new CardLayout();
@@ -28,8 +31,7 @@ public class Main {
 
             frame.add(mainPanel);
             frame.pack();
-            frame.setLocationRelativeTo(null);
-            frame.setVisible(true);
+            showWindow(frame);
 
             // When the title screen says "start game"
             titleScreen.setOnGameStart(() -> {
@@ -49,6 +51,32 @@ public class Main {
         });
     }
 
+    // --------------------------
+    // WINDOW (resizable; -Dmatrixdodger.fullscreen=true for exclusive fullscreen)
+    // --------------------------
+    private static final boolean FULLSCREEN = Boolean.getBoolean("matrixdodger.fullscreen");
+
+    // Before pack(): undecorated only works while the frame isn't displayable yet
+    private static void configureWindow(JFrame frame) {
+        frame.setResizable(true);
+        if (FULLSCREEN) frame.setUndecorated(true);
+    }
+
+    private static void showWindow(JFrame frame) {
+        if (FULLSCREEN) {
+            GraphicsDevice device = GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice();
+            if (device.isFullScreenSupported()) {
+                device.setFullScreenWindow(frame);
+                return;
+            }
+            // no exclusive mode on this platform: borderless maximized window instead
+            frame.setExtendedState(JFrame.MAXIMIZED_BOTH);
+        } else {
+            frame.setLocationRelativeTo(null);
+        }
+        frame.setVisible(true);
+    }
+
     // --------------------------
     // SPLASH SCREEN METHOD
     // --------------------------
@@ -88,7 +116,7 @@ private static void showSplashScreen() {
     private static void launchMainWindow() {
     JFrame frame = new JFrame("Matrix Dodger");
     frame.setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
-    frame.setResizable(false);
+    configureWindow(frame);
 
     // Card layout for switching screens
     CardLayout cardLayout = new CardLayout();
@@ -102,8 +130,7 @@ private static void showSplashScreen() {
 
     frame.add(mainPanel);
     frame.pack();
-    frame.setLocationRelativeTo(null);
-    frame.setVisible(true);
+    showWindow(frame);
 
     // Game start callback for title screen
     titleScreen.setOnGameStart(() -> {
@@ -3,9 +3,6 @@ package Main;
 import javax.swing.*;
 import java.awt.*;
 import java.awt.event.*;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Random;
 
 /**
  * MatrixDodgerTitleScreen
@@ -23,10 +20,18 @@ public class MatrixDodgerTitleScreen extends JPanel {
     private int flashCount = 0;
     private final int MAX_FLASHES = 3;
 
-    // ---- Matrix rain data ----
-    private final List<MatrixColumn> columns = new ArrayList<>();
-    private final Random random = new Random();
-    private Timer matrixTimer; // repaints matrix rain (animation)
+    // ---- Matrix rain: shared engine (see MatrixRain), mounted while shown ----
+    private boolean rainStopped = false;
+
+    // Pre-rasterized glyphs for the title texts (fallback font if VT323 is missing)
+    private static final GlyphAtlas FLASH_TEXT = GlyphAtlas.get(GlyphAtlas.font("VT323", Font.BOLD, 64),
+            GlyphAtlas.ASCII, Color.WHITE, 1);
+    private static final GlyphAtlas TITLE_TEXT = GlyphAtlas.get(GlyphAtlas.font("VT323", Font.BOLD, 60),
+            GlyphAtlas.ASCII, new Color(0, 255, 0), 1);
+    private static final GlyphAtlas SUBTITLE_TEXT = GlyphAtlas.get(GlyphAtlas.font("VT323", Font.PLAIN, 24),
+            GlyphAtlas.ASCII, new Color(0, 255, 0), 1);
+    private static final GlyphAtlas PROMPT_TEXT = GlyphAtlas.get(GlyphAtlas.font("VT323", Font.PLAIN, 20),
+            GlyphAtlas.ASCII, Color.WHITE, 1);
 
     // callback invoked when player presses any key
     private Runnable onGameStart;
@@ -41,14 +46,6 @@ public class MatrixDodgerTitleScreen extends JPanel {
         setBackground(Color.BLACK);
         setFocusable(true);
 
-        // create a set of random columns for the matrix rain
-        for (int i = 0; i < 40; i++) {
-            columns.add(new MatrixColumn(random.nextInt(PREF_W)));
-        }
-
-        // start the matrix rain AFTER construction to avoid leaking 'this'
-        SwingUtilities.invokeLater(this::startMatrixRain);
-
         // intro flash sequence: toggle visible every 150ms
         flashTimer = new Timer(150, e -> {
             visible = !visible;
@@ -83,17 +80,16 @@ public class MatrixDodgerTitleScreen extends JPanel {
         });
     }
 
-    /**
-     * Start the background matrix animation (safe to call via invokeLater).
-     */
-    private void startMatrixRain() {
-        // repaint timer drives the animation
-        matrixTimer = new Timer(50, e -> {
-            // update columns (positions) before repaint
-            for (MatrixColumn c : columns) c.update(getHeight());
-            repaint();
-        });
-        matrixTimer.start();
+    @Override
+    public void addNotify() {
+        super.addNotify();
+        if (!rainStopped) MatrixRain.shared().mount(this);
+    }
+
+    @Override
+    public void removeNotify() {
+        MatrixRain.shared().unmount(this);
+        super.removeNotify();
     }
 
     /**
@@ -120,7 +116,8 @@ public class MatrixDodgerTitleScreen extends JPanel {
     public void startGame() {
         if (flashTimer != null) flashTimer.stop();
         if (mainBlinkTimer != null) mainBlinkTimer.stop();
-        if (matrixTimer != null) matrixTimer.stop();
+        rainStopped = true;
+        MatrixRain.shared().unmount(this);
 
         if (onGameStart != null) {
             onGameStart.run();
@@ -136,7 +133,7 @@ public class MatrixDodgerTitleScreen extends JPanel {
         Graphics2D g2 = (Graphics2D) g.create();
 
         // draw matrix rain first (background)
-        drawMatrixRain(g2);
+        if (!rainStopped) MatrixRain.shared().paint(g2);
 
         // draw title or flash text on top
         if (flashCount < MAX_FLASHES) {
@@ -152,84 +149,23 @@ public class MatrixDodgerTitleScreen extends JPanel {
 
     // draw flashing title used during the intro
     private void drawFlashText(Graphics2D g) {
-        g.setColor(Color.WHITE);
-        g.setFont(new Font("VT323", Font.BOLD, 64)); // pixel font (fallback to default if not present)
         String text = "MATRIX DODGER";
-        drawCenteredString(g, text, getWidth(), getHeight() / 2);
+        FLASH_TEXT.drawCentered(g, text, getWidth(), getHeight() / 2);
     }
 
     // draw main title and subtitle
     private void drawMainTitle(Graphics2D g) {
-        g.setColor(new Color(0, 255, 0));
-        g.setFont(new Font("VT323", Font.BOLD, 60));
         String main = "MATRIX DODGER";
         int yMain = getHeight() / 2 - 50;
-        drawCenteredString(g, main, getWidth(), yMain);
+        TITLE_TEXT.drawCentered(g, main, getWidth(), yMain);
 
-        g.setFont(new Font("VT323", Font.PLAIN, 24));
         String subtitle = "Dodge the Digital Storm";
-        drawCenteredString(g, subtitle, getWidth(), yMain + 40);
+        SUBTITLE_TEXT.drawCentered(g, subtitle, getWidth(), yMain + 40);
     }
 
     private void drawPressPrompt(Graphics2D g) {
-        g.setColor(Color.WHITE);
-        g.setFont(new Font("VT323", Font.PLAIN, 20));
         String prompt = "Press any key to start...";
-        drawCenteredString(g, prompt, getWidth(), getHeight() / 2 + 100);
-    }
-
-    // helper to center text at y
-    private void drawCenteredString(Graphics2D g, String text, int containerWidth, int y) {
-        FontMetrics fm = g.getFontMetrics();
-        int textWidth = fm.stringWidth(text);
-        int x = (containerWidth - textWidth) / 2;
-        g.drawString(text, x, y);
-    }
-
-    // Draw matrix rain columns
-    private void drawMatrixRain(Graphics2D g) {
-        // use a mono/pixel-ish font for look (will fallback if font not present)
-        g.setFont(new Font("VT323", Font.BOLD, 18));
-
-        for (MatrixColumn col : columns) {
-            col.draw(g);
-        }
-    }
-
-    // -------------------------
-    // Matrix column inner class
-    // -------------------------
-    private class MatrixColumn {
-        private final int x;
-        private int y;
-        private final int speed;
-        private final char[] chars = "01".toCharArray();
-
-        MatrixColumn(int x) {
-            this.x = x;
-            this.y = random.nextInt(getHeight() + 600) - 600; // spread start positions
-            this.speed = 4 + random.nextInt(6);
-        }
-
-        void update(int panelHeight) {
-            // move downward
-            y += speed;
-            if (y > panelHeight + 400) {
-                y = -random.nextInt(300);
-            }
-        }
-
-        void draw(Graphics2D g) {
-            int density = 22; // number of characters in the strip
-            int charHeight = 18;
-            for (int i = 0; i < density; i++) {
-                // head bright, tail faded
-                int alpha = Math.max(0, 255 - i * 10);
-                g.setColor(new Color(0, 255, 0, alpha));
-                char c = chars[random.nextInt(chars.length)];
-                g.drawString(String.valueOf(c), x, y - i * charHeight);
-            }
-        }
+        PROMPT_TEXT.drawCentered(g, prompt, getWidth(), getHeight() / 2 + 100);
     }
 
     // -------------------------
@@ -0,0 +1,202 @@
+package Main;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * MatrixRain
+ * The one Matrix rain engine shared by every screen.
+ *
+ * - A single 50 ms Swing timer simulates the columns once per tick and draws them
+ *   once into a shared buffer; mounted layers (MatrixBackground, MatrixRainPanel,
+ *   the title screen) just blit that buffer in their paint.
+ * - The buffer covers the largest showing layer; hidden layers (e.g. a CardLayout
+ *   card in the back) cost nothing, and with no layer mounted the timer stops.
+ * - Density (columns per 20 px of width) is set in one place:
+ *   -Dmatrixdodger.rainDensity=1.0 or {@link #setDensity}; the QualityGovernor
+ *   scales it through {@link #setQualityScale}.
+ * - Per-frame CPU budget (-Dmatrixdodger.rainBudgetMicros, default 2000): when a
+ *   frame takes longer, columns are dropped; they come back while under budget.
+ *
+ * EDT only.
+ */
+public final class MatrixRain {
+
+    private static final int TICK_MS = 50;
+    private static final int COLUMN_SPACING = 20; // px of width per column at density 1.0
+    private static final int CHAR_HEIGHT = 18;
+    private static final int TRAIL = 22;           // glyphs per column
+    private static final int MIN_COLUMNS = 8;
+
+    private static final GlyphAtlas GLYPHS = GlyphAtlas.get(GlyphAtlas.font("VT323", Font.BOLD, 18),
+            GlyphAtlas.BINARY, new Color(0, 255, 0), 16);
+    // fade level per trail position (head bright, tail faded)
+    private static final int[] TRAIL_LEVELS = new int[TRAIL];
+    static {
+        for (int i = 0; i < TRAIL; i++) TRAIL_LEVELS[i] = GLYPHS.levelFor(Math.max(0, 255 - i * 10));
+    }
+
+    private static MatrixRain shared;
+
+    public static MatrixRain shared() {
+        if (shared == null) shared = new MatrixRain();
+        return shared;
+    }
+
+    private final List<JComponent> layers = new ArrayList<>();
+    private final Timer timer = new Timer(TICK_MS, e -> tick());
+    private final Random random = new Random();
+
+    // columns (struct-of-arrays)
+    private int[] columnX = new int[0];
+    private int[] columnY = new int[0];
+    private int[] columnSpeed = new int[0];
+    private int targetColumns = 0;  // from width * density
+    private int activeColumns = 0;  // <= targetColumns, lowered when over budget
+
+    private float density = densityFromProperties();
+    private float qualityScale = 1f;
+    private long budgetNanos = Long.getLong("matrixdodger.rainBudgetMicros", 2000L) * 1000L;
+
+    private BufferedImage buffer;
+    private int width = 0, height = 0;
+    private int frame = 0;
+    private long lastFrameNanos = 0;
+
+    private MatrixRain() {}
+
+    // -Dmatrixdodger.rainDensity, falling back to 1.0 on a bad value instead of failing the first screen
+    private static float densityFromProperties() {
+        String value = System.getProperty("matrixdodger.rainDensity", "1.0");
+        try {
+            float d = Float.parseFloat(value.trim());
+            if (Float.isFinite(d)) return Math.max(0.1f, d);
+        } catch (RuntimeException e) {
+            // fall through
+        }
+        System.out.println("Bad matrixdodger.rainDensity '" + value + "', using 1.0");
+        return 1f;
+    }
+
+    // ===============================
+    // Layers
+    // ===============================
+    public void mount(JComponent layer) {
+        if (layers.contains(layer)) return;
+        layers.add(layer);
+        if (!timer.isRunning()) timer.start();
+    }
+
+    public void unmount(JComponent layer) {
+        layers.remove(layer);
+        if (layers.isEmpty()) timer.stop();
+    }
+
+    // Blits the current rain frame (call from the layer's paintComponent)
+    public void paint(Graphics g) {
+        if (buffer != null) g.drawImage(buffer, 0, 0, null);
+    }
+
+    // ===============================
+    // Tick: simulate + draw once for all layers
+    // ===============================
+    private void tick() {
+        int w = 0, h = 0;
+        for (JComponent layer : layers) {
+            if (!layer.isShowing()) continue;
+            w = Math.max(w, layer.getWidth());
+            h = Math.max(h, layer.getHeight());
+        }
+        if (w <= 0 || h <= 0) return; // nothing visible
+
+        if (w != width || h != height) resize(w, h);
+
+        for (int c = 0; c < activeColumns; c++) {
+            columnY[c] += columnSpeed[c];
+            if (columnY[c] > height + 400) columnY[c] = -random.nextInt(300);
+        }
+        frame++;
+
+        long start = System.nanoTime();
+        render();
+        lastFrameNanos = System.nanoTime() - start;
+        adaptToBudget();
+
+        for (JComponent layer : layers) {
+            if (layer.isShowing()) layer.repaint();
+        }
+    }
+
+    // Full redraw rather than scrolling the buffer: every trail glyph re-rolls each
+    // frame (the flicker), so nothing drawn last frame could be reused
+    private void render() {
+        Graphics2D g = buffer.createGraphics();
+        g.setComposite(AlphaComposite.Clear);
+        g.fillRect(0, 0, width, height);
+        g.setComposite(AlphaComposite.SrcOver);
+        for (int c = 0; c < activeColumns; c++) {
+            int x = columnX[c];
+            int y = columnY[c];
+            for (int i = 0; i < TRAIL; i++) {
+                int gy = y - i * CHAR_HEIGHT;
+                if (gy < 0) break;           // rest of the trail is above the top
+                if (gy > height + CHAR_HEIGHT) continue;
+                GLYPHS.drawGlyph(g, GLYPHS.randomGlyph(x * 31 + i * 7 + frame * 13), TRAIL_LEVELS[i], x, gy);
+            }
+        }
+        g.dispose();
+    }
+
+    // Drop 10% of the columns when over budget, add one back per tick while well under it
+    private void adaptToBudget() {
+        if (lastFrameNanos > budgetNanos && activeColumns > MIN_COLUMNS) {
+            activeColumns = Math.max(MIN_COLUMNS, activeColumns - Math.max(1, activeColumns / 10));
+        } else if (lastFrameNanos < budgetNanos / 2 && activeColumns < targetColumns) {
+            activeColumns++;
+        }
+    }
+
+    private void resize(int w, int h) {
+        width = w;
+        height = h;
+        buffer = ImageAssets.createCompatible(w, h);
+        spawnColumns();
+    }
+
+    private void spawnColumns() {
+        targetColumns = Math.max(MIN_COLUMNS, Math.round(width / (float) COLUMN_SPACING * density * qualityScale));
+        columnX = new int[targetColumns];
+        columnY = new int[targetColumns];
+        columnSpeed = new int[targetColumns];
+        for (int c = 0; c < targetColumns; c++) {
+            columnX[c] = random.nextInt(width);
+            columnY[c] = random.nextInt(height + 600) - 600; // spread start positions
+            columnSpeed[c] = 4 + random.nextInt(6);           // varied falling speeds
+        }
+        activeColumns = targetColumns;
+    }
+
+    // ===============================
+    // Tuning
+    // ===============================
+    public void setDensity(float density) {
+        this.density = Math.max(0.1f, density);
+        if (width > 0) spawnColumns();
+    }
+
+    public void setQualityScale(float scale) {
+        if (scale == qualityScale) return;
+        this.qualityScale = Math.max(0.1f, Math.min(1f, scale));
+        if (width > 0) spawnColumns();
+    }
+
+    public float getDensity() { return density; }
+    public void setBudgetMicros(long micros) { this.budgetNanos = Math.max(1, micros) * 1000L; }
+    public long getBudgetMicros() { return budgetNanos / 1000L; }
+    public int getActiveColumns() { return activeColumns; }
+    public long getLastFrameNanos() { return lastFrameNanos; }
+}
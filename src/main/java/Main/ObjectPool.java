@@ -0,0 +1,82 @@
+package Main;
+
+import java.util.Arrays;
+import java.util.function.Supplier;
+
+/**
+ * ObjectPool
+ * Recycles short-lived entities (blink ghosts) so spawning and
+ * despawning on the hot path allocates nothing after warm-up.
+ *
+ * - acquire() hands out a free instance (or creates one if the pool is empty).
+ * - release() calls {@link Poolable#reset()} and keeps the instance for reuse,
+ *   up to maxFree instances; beyond that it is left to the GC.
+ * - Counters (created / in use / peak) show whether the pool is sized right.
+ *
+ * Not thread-safe: use one pool per owning thread (the simulation thread here).
+ */
+public class ObjectPool<T extends ObjectPool.Poolable> {
+
+    public interface Poolable {
+        // Clear references/state before the instance goes back to the pool
+        void reset();
+    }
+
+    private final Supplier<T> factory;
+    private final int maxFree;
+    private Object[] free;
+    private int freeCount = 0;
+
+    // stats
+    private int created = 0;
+    private int inUse = 0;
+    private int peakInUse = 0;
+
+    public ObjectPool(Supplier<T> factory, int prewarm, int maxFree) {
+        this.factory = factory;
+        this.maxFree = Math.max(prewarm, maxFree);
+        this.free = new Object[Math.max(16, prewarm)];
+        for (int i = 0; i < prewarm; i++) {
+            free[freeCount++] = factory.get();
+            created++;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public T acquire() {
+        T obj;
+        if (freeCount > 0) {
+            obj = (T) free[--freeCount];
+            free[freeCount] = null;
+        } else {
+            obj = factory.get();
+            created++;
+        }
+        inUse++;
+        if (inUse > peakInUse) peakInUse = inUse;
+        return obj;
+    }
+
+    public void release(T obj) {
+        obj.reset();
+        inUse--;
+        if (freeCount >= maxFree) return;
+        if (freeCount == free.length) free = Arrays.copyOf(free, Math.min(maxFree, free.length * 2));
+        free[freeCount++] = obj;
+    }
+
+    // ===============================
+    // Stats
+    // ===============================
+    public int getCreated() { return created; }
+    public int getInUse() { return inUse; }
+    public int getPeakInUse() { return peakInUse; }
+    public int getFree() { return freeCount; }
+    public int getMaxFree() { return maxFree; }
+
+    @Override
+    public String toString() {
+        return "ObjectPool[inUse=" + inUse + ", free=" + freeCount + ", peak=" + peakInUse
+                + ", created=" + created + ", maxFree=" + maxFree + "]";
+    }
+}
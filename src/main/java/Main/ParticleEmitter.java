@@ -0,0 +1,71 @@
+package Main;
+
+/**
+ * ParticleEmitter
+ * Spawns one {@link ParticleSystem.Style} at a position, in two modes:
+ *
+ * - BURST: {@link #burst} emits burstCount particles at once (hits, deaths, revive).
+ * - CONTINUOUS: {@link #update} emits rate particles per tick while active
+ *   (fractional rates accumulate, e.g. 0.5 = one particle every other tick);
+ *   the rate is per 60 Hz tick and scaled by the system's tick scale.
+ *
+ * The emitter holds no particles itself; everything lives in the ParticleSystem.
+ */
+public class ParticleEmitter {
+
+    public enum Mode { BURST, CONTINUOUS }
+
+    private final int styleId;
+    private final Mode mode;
+    private final int burstCount;
+    private final float rate;
+
+    private float x, y;
+    private boolean active = false;
+    private float accumulator = 0f;
+
+    private ParticleEmitter(int styleId, Mode mode, int burstCount, float rate) {
+        this.styleId = styleId;
+        this.mode = mode;
+        this.burstCount = burstCount;
+        this.rate = rate;
+    }
+
+    public static ParticleEmitter burst(int styleId, int count) {
+        return new ParticleEmitter(styleId, Mode.BURST, count, 0f);
+    }
+
+    public static ParticleEmitter continuous(int styleId, float perTick) {
+        return new ParticleEmitter(styleId, Mode.CONTINUOUS, 0, perTick);
+    }
+
+    public ParticleEmitter setPosition(float x, float y) {
+        this.x = x;
+        this.y = y;
+        return this;
+    }
+
+    // Emits the whole burst at the current position
+    public void burst(ParticleSystem system) {
+        system.burst(styleId, x, y, burstCount);
+    }
+
+    // One tick of a continuous emitter; no-op while inactive
+    public void update(ParticleSystem system) {
+        if (mode != Mode.CONTINUOUS || !active) return;
+        accumulator += rate * system.getTickScale();
+        int n = (int) accumulator;
+        if (n > 0) {
+            accumulator -= n;
+            system.burst(styleId, x, y, n);
+        }
+    }
+
+    public void setActive(boolean active) {
+        if (!active) accumulator = 0f;
+        this.active = active;
+    }
+
+    public boolean isActive() { return active; }
+    public Mode getMode() { return mode; }
+}
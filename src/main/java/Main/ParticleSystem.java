@@ -0,0 +1,289 @@
+package Main;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * ParticleSystem
+ * Fixed-capacity, struct-of-arrays particle engine for hit/death/skill VFX.
+ *
+ * - All live particles sit in parallel primitive arrays (position, velocity,
+ *   life, style, color index); nothing is allocated per particle.
+ * - {@link #update()} is one batch loop: integrate, apply the style's friction
+ *   and gravity, age, swap-remove the dead.
+ * - Each {@link Style} is pre-rendered once into small sprites per color and
+ *   fade level, so drawing a particle is a single unscaled blit.
+ * - When the buffer is full new particles are dropped instead of growing.
+ * - {@link #setSpawnScale} thins every burst (quality governor); fractional
+ *   amounts are rounded randomly so small bursts still emit on average.
+ * - Every pre-rendered sprite also has a flat id, so the live state can be
+ *   copied out ({@link #copyTo}) and drawn later on another thread.
+ *
+ * Spawn through {@link #burst} or a {@link ParticleEmitter} (burst/continuous).
+ */
+public class ParticleSystem {
+
+    // Fade levels pre-rendered per style/color
+    private static final int LEVELS = 16;
+
+    private final int capacity;
+    private int count = 0;
+
+    private final float[] x, y, vx, vy;
+    private final short[] life;
+    private final byte[] style;
+    private final byte[] color;
+
+    private final List<Style> styles = new ArrayList<>();
+    // per-style copies of the hot parameters (indexed by style id)
+    private float[] gravityOf = new float[0];
+    private float[] frictionOf = new float[0];
+    private float[] alphaDivisorOf = new float[0];
+    private short[] lifeOf = new short[0];
+
+    // Reference (60 Hz) ticks per update; styles are authored per reference tick
+    private float tickScale = 1f;
+
+    // flat sprite table over all styles/colors/levels: id = spriteBase[style] + color * LEVELS + level
+    private int[] spriteBase = new int[0];
+    private BufferedImage[] spriteTable = new BufferedImage[0];
+    private int[] spriteHalfTable = new int[0];
+    private int maxSpriteHalf = 0; // clip culling margin
+
+    private float spawnScale = 1f;
+
+    // xorshift state: cheaper than Math.random() and deterministic
+    private int seed = 0x2545F491;
+
+    public ParticleSystem(int capacity) {
+        this.capacity = capacity;
+        x = new float[capacity];
+        y = new float[capacity];
+        vx = new float[capacity];
+        vy = new float[capacity];
+        life = new short[capacity];
+        style = new byte[capacity];
+        color = new byte[capacity];
+    }
+
+    // ===============================
+    // Styles
+    // ===============================
+    /**
+     * Look and motion of one kind of particle.
+     * alpha = life / alphaDivisor; size = sizeStart + sizeGrow * (1 - alpha).
+     */
+    public static class Style {
+        final int life;
+        final float alphaDivisor;
+        final float gravity;   // added to vy every tick
+        final float friction;  // vx/vy multiplied every tick (1 = none)
+        final float speedMin, speedMax;
+        final float upwardBias; // random extra upward kick (0..upwardBias) + 0.5 when > 0
+        final Color[] colors;   // one is picked per particle
+        final int coreAlpha;
+        final float sizeStart, sizeGrow;
+        final boolean glow;     // soft white halo (2x size) on top of the core
+
+        BufferedImage[][] sprites; // [color][level]
+        int[][] spriteHalf;
+
+        public Style(int life, float alphaDivisor, float gravity, float friction,
+                     float speedMin, float speedMax, float upwardBias,
+                     Color[] colors, int coreAlpha, float sizeStart, float sizeGrow, boolean glow) {
+            this.life = life;
+            this.alphaDivisor = alphaDivisor;
+            this.gravity = gravity;
+            this.friction = friction;
+            this.speedMin = speedMin;
+            this.speedMax = speedMax;
+            this.upwardBias = upwardBias;
+            this.colors = colors;
+            this.coreAlpha = coreAlpha;
+            this.sizeStart = sizeStart;
+            this.sizeGrow = sizeGrow;
+            this.glow = glow;
+        }
+    }
+
+    public int registerStyle(Style s) {
+        if (styles.size() >= Byte.MAX_VALUE) throw new IllegalStateException("too many particle styles");
+        prerender(s);
+        styles.add(s);
+        int id = styles.size() - 1;
+        gravityOf = Arrays.copyOf(gravityOf, id + 1);
+        frictionOf = Arrays.copyOf(frictionOf, id + 1);
+        alphaDivisorOf = Arrays.copyOf(alphaDivisorOf, id + 1);
+        lifeOf = Arrays.copyOf(lifeOf, id + 1);
+        applyTickScale(id);
+
+        int base = spriteTable.length;
+        spriteBase = Arrays.copyOf(spriteBase, id + 1);
+        spriteBase[id] = base;
+        spriteTable = Arrays.copyOf(spriteTable, base + s.colors.length * LEVELS);
+        spriteHalfTable = Arrays.copyOf(spriteHalfTable, spriteTable.length);
+        for (int c = 0; c < s.colors.length; c++) {
+            for (int lv = 0; lv < LEVELS; lv++) {
+                spriteTable[base + c * LEVELS + lv] = s.sprites[c][lv];
+                spriteHalfTable[base + c * LEVELS + lv] = s.spriteHalf[c][lv];
+                maxSpriteHalf = Math.max(maxSpriteHalf, s.sprites[c][lv].getHeight());
+            }
+        }
+        return id;
+    }
+
+    // Same drawing the old per-particle fillOval code did, done once per level
+    private static void prerender(Style s) {
+        s.sprites = new BufferedImage[s.colors.length][LEVELS];
+        s.spriteHalf = new int[s.colors.length][LEVELS];
+        for (int c = 0; c < s.colors.length; c++) {
+            Color base = s.colors[c];
+            for (int lv = 0; lv < LEVELS; lv++) {
+                float alpha = (lv + 1) / (float) LEVELS;
+                int size = (int) (s.sizeStart + s.sizeGrow * (1f - alpha));
+                int extent = s.glow ? size * 2 : size;
+                int dim = Math.max(1, extent + 2);
+                BufferedImage img = ImageAssets.createCompatible(dim, dim);
+                Graphics2D g = img.createGraphics();
+                int center = dim / 2;
+
+                g.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, alpha));
+                g.setColor(new Color(base.getRed(), base.getGreen(), base.getBlue(), (int) (s.coreAlpha * alpha)));
+                g.fillOval(center - size / 2, center - size / 2, size, size);
+                if (s.glow) {
+                    g.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, alpha * 0.6f));
+                    g.setColor(new Color(255, 255, 255, (int) (100 * alpha)));
+                    g.fillOval(center - size, center - size, size * 2, size * 2);
+                }
+                g.dispose();
+                s.sprites[c][lv] = img;
+                s.spriteHalf[c][lv] = center;
+            }
+        }
+    }
+
+    // ===============================
+    // Spawn
+    // ===============================
+    // Emits up to amount particles of the style at (px,py) in random directions
+    public void burst(int styleId, float px, float py, int amount) {
+        Style s = styles.get(styleId);
+        if (spawnScale < 1f) amount = (int) (amount * spawnScale + nextFloat());
+        for (int k = 0; k < amount && count < capacity; k++) {
+            float angle = nextFloat() * (float) (Math.PI * 2);
+            float speed = s.speedMin + nextFloat() * (s.speedMax - s.speedMin);
+            int i = count++;
+            x[i] = px;
+            y[i] = py;
+            vx[i] = (float) Math.cos(angle) * speed;
+            vy[i] = (float) Math.sin(angle) * speed;
+            if (s.upwardBias > 0) vy[i] -= 0.5f + nextFloat() * s.upwardBias;
+            life[i] = lifeOf[styleId];
+            style[i] = (byte) styleId;
+            color[i] = (byte) (s.colors.length == 1 ? 0 : (int) (nextFloat() * s.colors.length));
+        }
+    }
+
+    private float nextFloat() {
+        seed ^= seed << 13;
+        seed ^= seed >>> 17;
+        seed ^= seed << 5;
+        return (seed >>> 8) / (float) (1 << 24);
+    }
+
+    // ===============================
+    // Update (batch)
+    // ===============================
+    public void update() {
+        final float[] x = this.x, y = this.y, vx = this.vx, vy = this.vy;
+        final float k = tickScale;
+        for (int i = 0; i < count; ) {
+            int st = style[i];
+            x[i] += vx[i] * k;
+            y[i] += vy[i] * k;
+            float f = frictionOf[st];
+            vx[i] *= f;
+            vy[i] = vy[i] * f + gravityOf[st];
+            if (--life[i] <= 0) {
+                // swap-remove, re-check slot i
+                int last = --count;
+                x[i] = x[last];
+                y[i] = y[last];
+                vx[i] = vx[last];
+                vy[i] = vy[last];
+                life[i] = life[last];
+                style[i] = style[last];
+                color[i] = color[last];
+                continue;
+            }
+            i++;
+        }
+    }
+
+    public void clear() { count = 0; }
+
+    public void setSpawnScale(float scale) { this.spawnScale = Math.max(0f, Math.min(1f, scale)); }
+    public float getSpawnScale() { return spawnScale; }
+
+    // Per-tick gravity, friction and lifetimes for a tick of tickScale reference ticks (GameClock.tickScale)
+    public void setTickScale(double tickScale) {
+        this.tickScale = (float) tickScale;
+        for (int id = 0; id < styles.size(); id++) applyTickScale(id);
+    }
+
+    public float getTickScale() { return tickScale; }
+
+    private void applyTickScale(int id) {
+        Style s = styles.get(id);
+        gravityOf[id] = s.gravity * tickScale;
+        frictionOf[id] = tickScale == 1f ? s.friction : (float) Math.pow(s.friction, tickScale);
+        alphaDivisorOf[id] = s.alphaDivisor / tickScale;
+        lifeOf[id] = (short) Math.max(1, Math.min(Short.MAX_VALUE, Math.round(s.life / tickScale)));
+    }
+
+    // ===============================
+    // Draw
+    // ===============================
+    public void draw(Graphics2D g) {
+        for (int i = 0; i < count; i++) {
+            int id = spriteId(i);
+            int half = spriteHalfTable[id];
+            g.drawImage(spriteTable[id], (int) x[i] - half, (int) y[i] - half, null);
+        }
+    }
+
+    // Draws particles previously copied out with copyTo (safe from any thread once styles are registered);
+    // particles outside the clip rows are skipped
+    public void draw(Graphics2D g, float[] xs, float[] ys, int[] sprites, int n) {
+        Rectangle clip = g.getClipBounds();
+        float minY = clip == null ? -Float.MAX_VALUE : clip.y - maxSpriteHalf;
+        float maxY = clip == null ? Float.MAX_VALUE : clip.y + clip.height + maxSpriteHalf;
+        for (int i = 0; i < n; i++) {
+            if (ys[i] < minY || ys[i] > maxY) continue;
+            int id = sprites[i];
+            int half = spriteHalfTable[id];
+            g.drawImage(spriteTable[id], (int) xs[i] - half, (int) ys[i] - half, null);
+        }
+    }
+
+    // Copies position + sprite id of every live particle; arrays must hold count() entries
+    public int copyTo(float[] xs, float[] ys, int[] sprites) {
+        System.arraycopy(x, 0, xs, 0, count);
+        System.arraycopy(y, 0, ys, 0, count);
+        for (int i = 0; i < count; i++) sprites[i] = spriteId(i);
+        return count;
+    }
+
+    private int spriteId(int i) {
+        int st = style[i];
+        float alpha = Math.min(1f, life[i] / alphaDivisorOf[st]);
+        int level = Math.max(0, Math.min(LEVELS - 1, (int) (alpha * LEVELS) - 1));
+        return spriteBase[st] + color[i] * LEVELS + level;
+    }
+
+    public int count() { return count; }
+    public int capacity() { return capacity; }
+}
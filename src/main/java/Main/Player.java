@@ -1,29 +1,32 @@
 package Main;
 
 import java.awt.*;
+import java.awt.geom.AffineTransform;
 import java.awt.image.BufferedImage;
-import javax.imageio.ImageIO;
-import java.net.URL;
 
 public class Player {
     private int x, y;
+    private int prevX, prevY; // position at the start of the current tick (render interpolation)
     private int width, height;
     private int speed;
     private int lives;
     private boolean isInvincible;
 
-    // Sprite animation
-    private BufferedImage[] idleFrames;
+    // Sprite animation (frames pre-mirrored; swap the set for run/jump/dash later)
+    private AnimationSet idleAnimation;
+    private AnimationSet animation;
     private int frameIndex = 0;
     private boolean facingLeft = false;
     private boolean facingRight = true;
     private boolean isRunning = false;
-    private int animationDelay = 5; 
-    private int animationCounter = 0;
+    private int animationDelay = 5; // reference (60 Hz) ticks per frame
+    private double animationCounter = 0;
 
     public Player(int x, int y, int width, int height, int speed, int lives) {
         this.x = x;
         this.y = y;
+        this.prevX = x;
+        this.prevY = y;
         this.width = width;
         this.height = height;
         this.speed = speed;
@@ -38,13 +41,8 @@ public class Player {
     // -----------------------------------------------------
 private void loadIdleFrames() {
     try {
-        idleFrames = new BufferedImage[7];
-        for (int i = 0; i < 7; i++) {
-            String path = "/sprites/GamerGabby/frame"+i+".png";
-            URL url = getClass().getResource(path);
-            idleFrames[i] = ImageIO.read(url);
-        }
-        
+        idleAnimation = AnimationSet.load("/sprites/GamerGabby/frame%d.png", 7, width, height);
+        animation = idleAnimation;
     } catch (Exception e) {
         e.printStackTrace();
     }
@@ -56,9 +54,15 @@ private void loadIdleFrames() {
     // ANIMATION UPDATE (call every tick)
     // -----------------------------------------------------
     public void updateAnimation() {
-           animationCounter++;
+        updateAnimation(1.0);
+    }
+
+    // tickScale = reference ticks per tick (see GameClock)
+    public void updateAnimation(double tickScale) {
+    if (animation == null) return;
+           animationCounter += tickScale;
     if (animationCounter >= animationDelay) {
-        frameIndex = (frameIndex + 1) % idleFrames.length;
+        frameIndex = (frameIndex + 1) % animation.length();
         animationCounter = 0;
     }
     }
@@ -66,14 +70,19 @@ private void loadIdleFrames() {
     // -----------------------------------------------------
     // MOVEMENT (GamArena uses reflection, so no change here)
     // -----------------------------------------------------
-    public void moveLeft() { 
-        x -= speed;
+    public void moveLeft() { moveLeft(speed); }
+
+    public void moveRight() { moveRight(speed); }
+
+    // Runs by the given number of pixels (a scaled step; may be 0 on fast ticks)
+    public void moveLeft(int pixels) {
+        x -= pixels;
         facingRight = false;
         isRunning = true;
     }
 
-    public void moveRight() { 
-        x += speed; 
+    public void moveRight(int pixels) {
+        x += pixels;
         facingRight = true;
         isRunning = true;
     }
@@ -83,14 +92,23 @@ private void loadIdleFrames() {
 
     public void stopRunning() { isRunning = false; }
 
+    // Remember where this tick started so the renderer can interpolate
+    public void storePreviousPosition() {
+        prevX = x;
+        prevY = y;
+    }
+
+    public int getRenderX(float alpha) { return Math.round(prevX + (x - prevX) * alpha); }
+    public int getRenderY(float alpha) { return Math.round(prevY + (y - prevY) * alpha); }
+
     // -----------------------------------------------------
     // COLLISION SYSTEM
     // -----------------------------------------------------
-    public boolean collidesWith(Projectile p) {
-        return (x < p.getX() + p.getSize() &&
-                x + width > p.getX() &&
-                y < p.getY() + p.getSize() &&
-                y + height > p.getY());
+    public boolean collidesWith(int px, int py, int size) {
+        return (x < px + size &&
+                x + width > px &&
+                y < py + size &&
+                y + height > py);
     }
 
     public boolean collidesWith(LifePack lp) {
@@ -115,61 +133,52 @@ private void loadIdleFrames() {
     // DRAW SPRITE
     // -----------------------------------------------------
 public void draw(Graphics g) {
+    draw(g, 1f);
+}
 
-    if (idleFrames == null) {
+// alpha = interpolation factor between the previous and current tick position
+public void draw(Graphics g, float alpha) {
+    drawSprite(g, getCurrentFrame(), getRenderX(alpha), getRenderY(alpha), width, height, isRunning, facingRight);
+}
+
+// Player look for a given frame/state (also used to draw from a RenderSnapshot)
+public static void drawSprite(Graphics g, BufferedImage frame, int rx, int ry, int width, int height,
+                              boolean isRunning, boolean facingRight) {
+    if (frame == null) {
         g.setColor(Color.BLUE);
-        g.fillRect(x, y, width, height);
+        g.fillRect(rx, ry, width, height);
         return;
     }
 
-    BufferedImage frame = idleFrames[frameIndex];
-    if (!facingRight) frame = flip(frame);
-
-    // ALWAYS create a fresh, isolated Graphics2D
+    // ALWAYS create a fresh, isolated Graphics2D (keeps the caller's world/viewport transform)
     Graphics2D g2 = (Graphics2D) g.create();
+    AffineTransform t = new AffineTransform();
+    spriteTransform(t, rx, ry, width, height, isRunning, facingRight);
+    g2.transform(t);
 
-    // Reset all transforms and clips to avoid outside interference
-    g2.setTransform(new java.awt.geom.AffineTransform());
-    g2.setClip(null);
+    // Draw sprite (frames are pre-scaled to width x height)
+    g2.drawImage(frame, 0, 0, null);
 
-    // Move to player position
-    g2.translate(x, y);
+    g2.dispose();
+}
 
-    // Apply tilt ONLY here (no world-based rotation)
+// Appends the sprite placement to t: move to (rx, ry), then the running tilt (no world-based rotation)
+public static void spriteTransform(AffineTransform t, int rx, int ry, int width, int height,
+                                   boolean isRunning, boolean facingRight) {
+    t.translate(rx, ry);
     if (isRunning) {
         double angle = Math.toRadians(facingRight ? 10 : -10);
-        g2.rotate(angle, width / 2.0, height / 2.0);
+        t.rotate(angle, width / 2.0, height / 2.0);
     }
-
-    // Draw sprite
-    g2.drawImage(frame, 0, 0, width, height, null);
-
-    g2.dispose();
 }
 
 
-    // -----------------------------------------------------
-    // Sprite flip util for left movement
-    // -----------------------------------------------------
-    private BufferedImage flip(BufferedImage img) {
-        int w = img.getWidth();
-        int h = img.getHeight();
-        BufferedImage flipped = new BufferedImage(w, h, BufferedImage.TYPE_INT_ARGB);
-
-        Graphics2D g = flipped.createGraphics();
-        g.drawImage(img, 0, 0, w, h, w, 0, 0, h, null);
-        g.dispose();
-
-        return flipped;
-    }
-
     // -----------------------------------------------------
     // Needed for Sandevistan Ghost Trail
     // -----------------------------------------------------
+    // Shared, pre-mirrored frame: don't draw into it
     public BufferedImage getCurrentFrame() {
-        BufferedImage frame = idleFrames[frameIndex];
-        if (!facingRight) frame = flip(frame);
-        return frame;
+        return animation != null ? animation.frame(frameIndex, facingRight) : null;
     }
     
     // =====================================================
@@ -185,7 +194,7 @@ public boolean takeDamage(GameManager gm) {
     lives--;
     
     // Start short invincibility
-    invincibleFrames = HIT_INVINCIBILITY;
+    invincibleFrames = gm.getClock().scaleFrames(HIT_INVINCIBILITY);
     isInvincible = true;
 
     gm.soundManager.playSound("hit");
@@ -222,9 +231,15 @@ public void updateInvincibility() {
     public int getY() { return y; }
     public int getWidth() { return width; }
     public int getHeight() { return height; }
+    public int getSpeed() { return speed; }
     public int getLives() { return lives; }
     public int setLives(int health) { return lives = health; }
     
+    public int getPrevX() { return prevX; }
+    public int getPrevY() { return prevY; }
+    public boolean isRunning() { return isRunning; }
+    public boolean isFacingRight() { return facingRight; }
+
     public boolean isFacingLeft() {
         return facingLeft;
     }
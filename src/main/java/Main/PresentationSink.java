@@ -0,0 +1,32 @@
+package Main;
+
+/**
+ * PresentationSink
+ * Receives gameplay events from the Simulation so a view can react with
+ * visuals/sounds. GameManager reports its projectile/skill events through
+ * the same sink. All callbacks run on the simulation thread at the end of
+ * (or during) a tick. Every method has a no-op default so headless runs can
+ * simply use {@link #NONE}.
+ */
+public interface PresentationSink {
+
+    // Called once after every simulation tick
+    default void onTick() {}
+
+    // Player lost one or more lives this tick
+    default void onLifeLost(int livesLeft) {}
+
+    // Revive triggered this tick
+    default void onRevive() {}
+
+    // A projectile hit the player; (x,y) is the projectile center
+    default void onPlayerHit(int x, int y) {}
+
+    // A projectile was destroyed (shield, annihilation, clear skill, out of bounces)
+    default void onProjectileDestroyed(int x, int y) {}
+
+    // A skill was activated through tryUseSkill
+    default void onSkillActivated(GameManager.SkillType skill) {}
+
+    PresentationSink NONE = new PresentationSink() {};
+}
@@ -0,0 +1,282 @@
+package Main;
+
+import java.util.Arrays;
+
+/**
+ * ProjectileBuffer
+ * Struct-of-arrays store for live projectiles.
+ *
+ * - Position/velocity live in parallel primitive arrays, so the update loop is a
+ *   linear walk over memory and spawning allocates nothing once warmed up.
+ * - Removal is an O(1) swap-remove: the last projectile moves into the freed slot.
+ *   Indices are therefore NOT stable across removals; iterate with
+ *   {@code for (int i = 0; i < count(); ) { if (dead) remove(i); else i++; }}.
+ * - Renderers read it through a {@link Cursor} (or the indexed getters).
+ * - Each projectile carries a type (look id) for ProjectileRenderer; add()
+ *   without one uses DEFAULT_TYPE.
+ * - An optional SpatialGrid can be attached; it is kept in sync incrementally on
+ *   add/remove/update so collision and other systems can query by area.
+ */
+public class ProjectileBuffer {
+
+    public static final int DEFAULT_BOUNCES = 3;
+    public static final int DEFAULT_TYPE = 0; // look id, see ProjectileRenderer
+
+    private int count = 0;
+
+    private double[] x, y;
+    private double[] prevX, prevY; // position before the last update (render interpolation)
+    private double[] speedX, speedY;
+    private int[] size;
+    private int[] bouncesLeft;
+    private byte[] type;
+
+    private final Cursor cursor = new Cursor();
+
+    // Optional broadphase kept in sync with the projectiles (ids = indices)
+    private SpatialGrid index;
+
+    // Largest per-axis distance any projectile moved in the last update (swept queries)
+    private double maxStep = 0;
+
+    public ProjectileBuffer(int initialCapacity) {
+        int cap = Math.max(16, initialCapacity);
+        x = new double[cap];
+        y = new double[cap];
+        prevX = new double[cap];
+        prevY = new double[cap];
+        speedX = new double[cap];
+        speedY = new double[cap];
+        size = new int[cap];
+        bouncesLeft = new int[cap];
+        type = new byte[cap];
+    }
+
+    // ===============================
+    // Add / Remove
+    // ===============================
+    public int add(double px, double py, double sx, double sy, int s) {
+        return add(px, py, sx, sy, s, DEFAULT_TYPE);
+    }
+
+    public int add(double px, double py, double sx, double sy, int s, int t) {
+        ensureCapacity(count + 1);
+        int i = count++;
+        x[i] = px;
+        y[i] = py;
+        prevX[i] = px;
+        prevY[i] = py;
+        speedX[i] = sx;
+        speedY[i] = sy;
+        size[i] = s;
+        bouncesLeft[i] = DEFAULT_BOUNCES;
+        type[i] = (byte) t;
+        if (index != null) index.insert(i, px + s / 2.0, py + s / 2.0);
+        return i;
+    }
+
+    // Copies every projectile of other (keeps their state)
+    public void addAll(ProjectileBuffer other) {
+        ensureCapacity(count + other.count);
+        int n = other.count;
+        System.arraycopy(other.x, 0, x, count, n);
+        System.arraycopy(other.y, 0, y, count, n);
+        System.arraycopy(other.prevX, 0, prevX, count, n);
+        System.arraycopy(other.prevY, 0, prevY, count, n);
+        System.arraycopy(other.speedX, 0, speedX, count, n);
+        System.arraycopy(other.speedY, 0, speedY, count, n);
+        System.arraycopy(other.size, 0, size, count, n);
+        System.arraycopy(other.bouncesLeft, 0, bouncesLeft, count, n);
+        System.arraycopy(other.type, 0, type, count, n);
+        if (index != null) {
+            for (int i = count; i < count + n; i++) index.insert(i, x[i] + size[i] / 2.0, y[i] + size[i] / 2.0);
+        }
+        count += n;
+    }
+
+    // O(1) swap-remove: the last projectile takes slot i
+    public void remove(int i) {
+        int last = --count;
+        if (index != null) {
+            index.remove(i);
+            if (i != last) index.relabel(last, i);
+        }
+        if (i != last) {
+            x[i] = x[last];
+            y[i] = y[last];
+            prevX[i] = prevX[last];
+            prevY[i] = prevY[last];
+            speedX[i] = speedX[last];
+            speedY[i] = speedY[last];
+            size[i] = size[last];
+            bouncesLeft[i] = bouncesLeft[last];
+            type[i] = type[last];
+        }
+    }
+
+    public void clear() {
+        count = 0;
+        if (index != null) index.clear();
+    }
+
+    // ===============================
+    // Spatial index
+    // ===============================
+    public void attachIndex(SpatialGrid grid) {
+        this.index = grid;
+        reindex();
+    }
+
+    public SpatialGrid getIndex() { return index; }
+
+    // Full rebuild (after the grid layout changed)
+    public void reindex() {
+        if (index == null) return;
+        index.clear();
+        for (int i = 0; i < count; i++) index.insert(i, x[i] + size[i] / 2.0, y[i] + size[i] / 2.0);
+    }
+
+    // ===============================
+    // Update (walls at 20px inset, same rules the old Projectile used)
+    // ===============================
+    public void update(int arenaWidth, int arenaHeight, double factor) {
+        maxStep = 0;
+        update(0, count, arenaWidth, arenaHeight, factor);
+    }
+
+    // Updates projectiles [from, to)
+    public void update(int from, int to, int arenaWidth, int arenaHeight, double factor) {
+        maxStep = Math.max(maxStep, integrate(from, to, arenaWidth, arenaHeight, factor));
+        syncIndex(from, to);
+    }
+
+    /**
+     * Moves/bounces projectiles [from, to) without touching shared state (maxStep,
+     * spatial index), so disjoint ranges can run on different threads.
+     * Call {@link #completeUpdate} once every range is done.
+     * @return largest per-axis step in the range
+     */
+    public double integrate(int from, int to, int arenaWidth, int arenaHeight, double factor) {
+        final double[] x = this.x, y = this.y, sx = this.speedX, sy = this.speedY;
+        final int right = arenaWidth - 20;
+        final int bottom = arenaHeight - 20;
+        System.arraycopy(x, from, prevX, from, to - from);
+        System.arraycopy(y, from, prevY, from, to - from);
+        double step = 0;
+        for (int i = from; i < to; i++) {
+            double nx = x[i] + sx[i] * factor;
+            double ny = y[i] + sy[i] * factor;
+            int s = size[i];
+            step = Math.max(step, Math.max(Math.abs(sx[i]), Math.abs(sy[i])) * factor);
+
+            // Bounce against walls
+            if (nx <= 20 || nx + s >= right) {
+                sx[i] = -sx[i];
+                bouncesLeft[i]--;
+            }
+            if (ny <= 20 || ny + s >= bottom) {
+                sy[i] = -sy[i];
+                bouncesLeft[i]--;
+            }
+            x[i] = nx;
+            y[i] = ny;
+        }
+        return step;
+    }
+
+    // Serial tail of a parallel update: publish the step and sync the spatial index
+    public void completeUpdate(double step) {
+        maxStep = step;
+        syncIndex(0, count);
+    }
+
+    private void syncIndex(int from, int to) {
+        if (index == null) return;
+        for (int i = from; i < to; i++) index.update(i, x[i] + size[i] / 2.0, y[i] + size[i] / 2.0);
+    }
+
+    public boolean shouldRemove(int i) {
+        return bouncesLeft[i] <= 0;
+    }
+
+    // Marks projectile i for removal by the next shouldRemove() pass
+    public void kill(int i) {
+        bouncesLeft[i] = 0;
+    }
+
+    public void setSpeed(int i, double sx, double sy) {
+        speedX[i] = sx;
+        speedY[i] = sy;
+    }
+
+    public void setPosition(int i, double px, double py) {
+        x[i] = px;
+        y[i] = py;
+        if (index != null) index.update(i, px + size[i] / 2.0, py + size[i] / 2.0);
+    }
+
+    private void ensureCapacity(int needed) {
+        if (needed <= x.length) return;
+        int cap = Math.max(needed, x.length * 2);
+        x = Arrays.copyOf(x, cap);
+        y = Arrays.copyOf(y, cap);
+        prevX = Arrays.copyOf(prevX, cap);
+        prevY = Arrays.copyOf(prevY, cap);
+        speedX = Arrays.copyOf(speedX, cap);
+        speedY = Arrays.copyOf(speedY, cap);
+        size = Arrays.copyOf(size, cap);
+        bouncesLeft = Arrays.copyOf(bouncesLeft, cap);
+        type = Arrays.copyOf(type, cap);
+    }
+
+    // ===============================
+    // Indexed access
+    // ===============================
+    public int count() { return count; }
+    public boolean isEmpty() { return count == 0; }
+    public int capacity() { return x.length; }
+    public double getMaxStep() { return maxStep; }
+
+    public int getX(int i) { return (int) x[i]; }
+    public int getY(int i) { return (int) y[i]; }
+    public double getExactX(int i) { return x[i]; }
+    public double getExactY(int i) { return y[i]; }
+    public double getPrevX(int i) { return prevX[i]; }
+    public double getPrevY(int i) { return prevY[i]; }
+    public double getSpeedX(int i) { return speedX[i]; }
+    public double getSpeedY(int i) { return speedY[i]; }
+    public int getSize(int i) { return size[i]; }
+    public int getBouncesLeft(int i) { return bouncesLeft[i]; }
+    public int getType(int i) { return type[i]; }
+
+    /**
+     * Reusable read cursor (one per buffer; not for concurrent readers).
+     * <pre>
+     * ProjectileBuffer.Cursor c = buffer.cursor();
+     * while (c.next()) g.fillOval(c.renderX(alpha), c.renderY(alpha), c.size(), c.size());
+     * </pre>
+     */
+    public Cursor cursor() {
+        cursor.index = -1;
+        return cursor;
+    }
+
+    public Cursor cursor(int startIndex) {
+        cursor.index = startIndex - 1;
+        return cursor;
+    }
+
+    public final class Cursor {
+        private int index = -1;
+
+        public boolean next() { return ++index < count; }
+        public int index() { return index; }
+        public int x() { return (int) x[index]; }
+        public int y() { return (int) y[index]; }
+        public int size() { return size[index]; }
+
+        // position interpolated between the last two updates
+        public int renderX(float alpha) { return (int) (prevX[index] + (x[index] - prevX[index]) * alpha); }
+        public int renderY(float alpha) { return (int) (prevY[index] + (y[index] - prevY[index]) * alpha); }
+    }
+}
@@ -0,0 +1,164 @@
+package Main;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * ProjectileRenderer
+ * Draws every live projectile as an unscaled sprite blit instead of one
+ * fillOval (shape rasterizer) per projectile.
+ *
+ * - Projectile types are looks (color + optional glow) registered here; the
+ *   type id is stored per projectile in ProjectileBuffer's type column.
+ * - A look is rasterized once per size the first time it is drawn; sizes of
+ *   MAX_SIZE and up are not cached and fall back to a plain fillOval.
+ * - Each frame the projectiles are bucketed by sprite (counting sort) and drawn
+ *   sprite by sprite, so consecutive blits share the same source image.
+ * - Projectiles outside the Graphics clip are skipped (band rendering).
+ *
+ * {@link #prepare} once per frame on the render thread; {@link #draw} may then run
+ * on several threads at once (one per band).
+ */
+public class ProjectileRenderer {
+
+    private static final int MAX_SIZE = 256; // sprites are cached per size below this
+    private static final int UNCACHED = -1;  // slot of an oversized projectile (drawn directly)
+    private static final int GLOW_PAD = 4;   // halo width around glowing looks
+
+    private static class Look {
+        final Color color;
+        final boolean glow;
+        final int[] slotBySize = new int[MAX_SIZE]; // dense sprite slot, -1 until rasterized
+
+        Look(Color color, boolean glow) {
+            this.color = color;
+            this.glow = glow;
+            Arrays.fill(slotBySize, -1);
+        }
+    }
+
+    private final List<Look> looks = new ArrayList<>();
+
+    // dense sprite slots used by the per-frame bucket sort
+    private BufferedImage[] slotImage = new BufferedImage[16];
+    private int[] slotOffset = new int[16]; // drawn at projectile x/y minus this (glow padding)
+    private int slots = 0;
+
+    // per-frame scratch
+    private int[] slotOf = new int[0];
+    private int[] order = new int[0];
+    private int[] bucketStart = new int[0];
+    private int reach = 0; // largest drawn extent (size + glow pad) this frame, for clip culling
+
+    public ProjectileRenderer() {
+        // DEFAULT_TYPE keeps the original look: plain red disc
+        registerType(Color.RED, false);
+    }
+
+    // Registers a projectile look, returns its type id (for ProjectileBuffer.add)
+    public int registerType(Color color, boolean glow) {
+        if (looks.size() > Byte.MAX_VALUE) throw new IllegalStateException("too many projectile types");
+        looks.add(new Look(color, glow));
+        return looks.size() - 1;
+    }
+
+    public int typeCount() { return looks.size(); }
+
+    // ===============================
+    // Draw
+    // ===============================
+    // Resolves sprites and sorts the snapshot's projectiles by sprite
+    public void prepare(RenderSnapshot s) {
+        int n = s.projectileCount;
+        if (slotOf.length < n) {
+            slotOf = new int[Math.max(n, slotOf.length * 2)];
+            order = new int[slotOf.length];
+        }
+
+        // 1. resolve sprite slots (rasterizing new type/size pairs)
+        reach = 0;
+        for (int i = 0; i < n; i++) {
+            slotOf[i] = slotFor(s.projectileType[i], s.projectileSize[i]);
+            reach = Math.max(reach, s.projectileSize[i] + GLOW_PAD);
+        }
+
+        // 2. counting sort by slot (uncached projectiles in a last bucket of their own)
+        if (bucketStart.length < slots + 2) bucketStart = new int[slots + 2];
+        Arrays.fill(bucketStart, 0, slots + 2, 0);
+        for (int i = 0; i < n; i++) bucketStart[bucket(slotOf[i]) + 1]++;
+        for (int k = 0; k <= slots; k++) bucketStart[k + 1] += bucketStart[k];
+        for (int i = 0; i < n; i++) order[bucketStart[bucket(slotOf[i])]++] = i;
+    }
+
+    private int bucket(int slot) {
+        return slot == UNCACHED ? slots : slot;
+    }
+
+    // Blits the prepared projectiles bucket by bucket (order is grouped by slot)
+    public void draw(Graphics2D g, RenderSnapshot s, float alpha) {
+        int n = s.projectileCount;
+        Rectangle clip = g.getClipBounds();
+        int minY = clip == null ? Integer.MIN_VALUE : clip.y - reach;
+        int maxY = clip == null ? Integer.MAX_VALUE : clip.y + clip.height + GLOW_PAD;
+        for (int k = 0; k < n; k++) {
+            int i = order[k];
+            int y = s.projectileRenderY(i, alpha);
+            if (y < minY || y > maxY) continue;
+            int slot = slotOf[i];
+            if (slot == UNCACHED) {
+                int size = s.projectileSize[i];
+                g.setColor(lookOf(s.projectileType[i]).color);
+                g.fillOval(s.projectileRenderX(i, alpha), y, size, size);
+                continue;
+            }
+            int off = slotOffset[slot];
+            g.drawImage(slotImage[slot], s.projectileRenderX(i, alpha) - off, y - off, null);
+        }
+    }
+
+    private Look lookOf(int type) {
+        return looks.get(type < looks.size() ? type : ProjectileBuffer.DEFAULT_TYPE);
+    }
+
+    private int slotFor(int type, int size) {
+        if (size >= MAX_SIZE) return UNCACHED;
+        Look look = lookOf(type);
+        int key = Math.max(1, size);
+        int slot = look.slotBySize[key];
+        if (slot >= 0) return slot;
+
+        BufferedImage sprite = rasterize(look, key);
+        if (slots == slotImage.length) {
+            slotImage = Arrays.copyOf(slotImage, slots * 2);
+            slotOffset = Arrays.copyOf(slotOffset, slots * 2);
+        }
+        slotImage[slots] = sprite;
+        slotOffset[slots] = look.glow ? GLOW_PAD : 0;
+        look.slotBySize[key] = slots;
+        return slots++;
+    }
+
+    // Same pixels fillOval(x, y, size, size) produced, plus an optional soft halo
+    private static BufferedImage rasterize(Look look, int size) {
+        int pad = look.glow ? GLOW_PAD : 0;
+        int dim = size + pad * 2;
+        BufferedImage img = ImageAssets.createCompatible(dim, dim);
+        Graphics2D g = img.createGraphics();
+        if (look.glow) {
+            Color c = look.color;
+            g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            for (int r = pad; r > 0; r--) {
+                g.setColor(new Color(c.getRed(), c.getGreen(), c.getBlue(), 60 / r));
+                g.fillOval(pad - r, pad - r, size + r * 2, size + r * 2);
+            }
+            g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_OFF);
+        }
+        g.setColor(look.color);
+        g.fillOval(pad, pad, size, size);
+        g.dispose();
+        return img;
+    }
+}
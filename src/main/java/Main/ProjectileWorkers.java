@@ -0,0 +1,148 @@
+package Main;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * ProjectileWorkers
+ * Fork/join helpers for the per-tick projectile passes once there are enough
+ * projectiles to keep more than one core busy.
+ *
+ * - update(): integration + wall bounces split into chunks across the pool;
+ *   the spatial grid is still synced serially afterwards.
+ * - classifyHits(): runs a read-only hit test over the broadphase candidates in
+ *   parallel and returns one result per candidate. Callers apply the side effects
+ *   (damage, revive, sounds, removal) serially in candidate order, so results are
+ *   the same as a single-threaded run.
+ * - Below the threshold (or on a single-core pool) everything runs inline.
+ *
+ * Threshold: -Dmatrixdodger.parallelThreshold=N (default 4096 projectiles).
+ */
+public class ProjectileWorkers {
+
+    public static final int DEFAULT_THRESHOLD = 4096;
+    private static final int MIN_CHUNK = 1024;
+
+    public static final byte HIT_NONE = 0;
+    public static final byte HIT_SHIELD = 1;
+    public static final byte HIT_PLAYER = 2;
+
+    // Must not modify any state: it runs on pool threads
+    public interface HitTest {
+        byte classify(int projectile);
+    }
+
+    private final ForkJoinPool pool;
+    private int threshold;
+    private byte[] hitKinds = new byte[64];
+
+    public ProjectileWorkers(ForkJoinPool pool, int threshold) {
+        this.pool = pool;
+        this.threshold = Math.max(1, threshold);
+    }
+
+    public static ProjectileWorkers createDefault() {
+        return new ProjectileWorkers(ForkJoinPool.commonPool(),
+                Integer.getInteger("matrixdodger.parallelThreshold", DEFAULT_THRESHOLD));
+    }
+
+    // ===============================
+    // Integration
+    // ===============================
+    public void update(ProjectileBuffer buffer, int arenaWidth, int arenaHeight, double factor) {
+        int n = buffer.count();
+        if (!isParallel(n)) {
+            buffer.update(arenaWidth, arenaHeight, factor);
+            return;
+        }
+        double step = pool.invoke(new IntegrateTask(buffer, 0, n, chunkSize(n), arenaWidth, arenaHeight, factor));
+        buffer.completeUpdate(step);
+    }
+
+    private static final class IntegrateTask extends RecursiveTask<Double> {
+        private final ProjectileBuffer buffer;
+        private final int from, to, chunk, arenaWidth, arenaHeight;
+        private final double factor;
+
+        IntegrateTask(ProjectileBuffer buffer, int from, int to, int chunk, int arenaWidth, int arenaHeight, double factor) {
+            this.buffer = buffer;
+            this.from = from;
+            this.to = to;
+            this.chunk = chunk;
+            this.arenaWidth = arenaWidth;
+            this.arenaHeight = arenaHeight;
+            this.factor = factor;
+        }
+
+        @Override
+        protected Double compute() {
+            if (to - from <= chunk) return buffer.integrate(from, to, arenaWidth, arenaHeight, factor);
+            int mid = (from + to) >>> 1;
+            IntegrateTask left = new IntegrateTask(buffer, from, mid, chunk, arenaWidth, arenaHeight, factor);
+            left.fork();
+            double right = new IntegrateTask(buffer, mid, to, chunk, arenaWidth, arenaHeight, factor).compute();
+            return Math.max(left.join(), right);
+        }
+    }
+
+    // ===============================
+    // Hit classification
+    // ===============================
+    /**
+     * Classifies candidates[0..n) with the test.
+     * @return HIT_* per candidate, valid for [0, n) until the next call
+     */
+    public byte[] classifyHits(int[] candidates, int n, HitTest test) {
+        if (hitKinds.length < n) hitKinds = new byte[Math.max(n, hitKinds.length * 2)];
+        if (!isParallel(n)) {
+            for (int k = 0; k < n; k++) hitKinds[k] = test.classify(candidates[k]);
+        } else {
+            pool.invoke(new ClassifyTask(candidates, hitKinds, 0, n, chunkSize(n), test));
+        }
+        return hitKinds;
+    }
+
+    private static final class ClassifyTask extends RecursiveAction {
+        private final int[] candidates;
+        private final byte[] out;
+        private final int from, to, chunk;
+        private final HitTest test;
+
+        ClassifyTask(int[] candidates, byte[] out, int from, int to, int chunk, HitTest test) {
+            this.candidates = candidates;
+            this.out = out;
+            this.from = from;
+            this.to = to;
+            this.chunk = chunk;
+            this.test = test;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= chunk) {
+                for (int k = from; k < to; k++) out[k] = test.classify(candidates[k]);
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new ClassifyTask(candidates, out, from, mid, chunk, test),
+                    new ClassifyTask(candidates, out, mid, to, chunk, test));
+        }
+    }
+
+    // ===============================
+    // Tuning
+    // ===============================
+    private boolean isParallel(int n) {
+        return n >= threshold && pool.getParallelism() > 1;
+    }
+
+    // ~4 chunks per worker so uneven chunks still balance
+    private int chunkSize(int n) {
+        return Math.max(MIN_CHUNK, n / (pool.getParallelism() * 4));
+    }
+
+    public int getThreshold() { return threshold; }
+    public void setThreshold(int threshold) { this.threshold = Math.max(1, threshold); }
+    public int getParallelism() { return pool.getParallelism(); }
+}
@@ -0,0 +1,171 @@
+package Main;
+
+import javax.swing.*;
+import java.util.prefs.Preferences;
+
+/**
+ * QualityGovernor
+ * Keeps the game inside its frame budget by scaling effects down when frames
+ * run long and back up when there is headroom again.
+ *
+ * - Quality is a ladder of {@link Tier}s: trail length, blink ghost count,
+ *   particle spawn scale, rain density, antialiasing, camera shake, glow layer.
+ * - Presets LOW / MEDIUM / HIGH pin a tier; AUTO starts at HIGH and walks the
+ *   ladder (down to a tier below LOW on weak machines).
+ * - HIGH draws with the original hints (no antialiasing); ULTRA is HIGH plus
+ *   antialiasing and quality rendering, only by choosing its preset.
+ * - The renderer reports frame time and the loop reports tick time; every
+ *   WINDOW frames the average cost per frame (render + the ticks run for it) is
+ *   compared to the budget (-Dmatrixdodger.frameBudgetMicros, default 16667).
+ *   Two windows over budget step down, four windows under 60% step up.
+ * - The preset is persisted with java.util.prefs.
+ *
+ * Readers (sim and render threads) call {@link #tier()}; it is a volatile read.
+ */
+public final class QualityGovernor {
+
+    public enum Preset { LOW, MEDIUM, HIGH, ULTRA, AUTO }
+
+    /** One rung of the quality ladder. */
+    public static final class Tier {
+        public final String name;
+        public final int trailLength;     // Sandevistan trail frames (GameManager max 12)
+        public final int maxBlinkGhosts;
+        public final float particleScale; // fraction of particles actually spawned
+        public final float rainDensity;   // scales MatrixRain's configured density
+        public final boolean antialias;
+        public final boolean cameraShake;
+        public final boolean glow;        // soft effects through the blurred GlowLayer (else plain fills)
+
+        Tier(String name, int trailLength, int maxBlinkGhosts, float particleScale, float rainDensity,
+             boolean antialias, boolean cameraShake, boolean glow) {
+            this.name = name;
+            this.trailLength = trailLength;
+            this.maxBlinkGhosts = maxBlinkGhosts;
+            this.particleScale = particleScale;
+            this.rainDensity = rainDensity;
+            this.antialias = antialias;
+            this.cameraShake = cameraShake;
+            this.glow = glow;
+        }
+    }
+
+    private static final Tier[] TIERS = {
+            new Tier("minimal", 3, 2, 0.2f, 0.3f, false, false, false),
+            new Tier("low", 5, 4, 0.4f, 0.5f, false, false, false),
+            new Tier("medium", 8, 6, 0.7f, 0.8f, false, true, true),
+            new Tier("high", 12, 10, 1f, 1f, false, true, true),
+            new Tier("ultra", 12, 10, 1f, 1f, true, true, true),
+    };
+    private static final int LOW = 1, MEDIUM = 2, HIGH = 3, ULTRA = 4;
+
+    private static final int WINDOW = 30;      // frames per evaluation
+    private static final int DOWN_WINDOWS = 2; // consecutive windows over budget before stepping down
+    private static final int UP_WINDOWS = 4;   // consecutive windows with headroom before stepping up
+    private static final double HEADROOM = 0.6;
+
+    private static final String PREF_KEY = "quality.preset";
+    private static QualityGovernor shared;
+
+    public static synchronized QualityGovernor shared() {
+        if (shared == null) shared = new QualityGovernor();
+        return shared;
+    }
+
+    private final Preferences prefs = Preferences.userNodeForPackage(QualityGovernor.class);
+    private final long budgetNanos = Long.getLong("matrixdodger.frameBudgetMicros", 16_667L) * 1000L;
+
+    private volatile Preset preset;
+    private volatile int tierIndex;
+
+    // measurement window (guarded by this)
+    private long frameNanos, tickNanos;
+    private int frames;
+    private int overWindows, underWindows;
+    private volatile long lastCostNanos;
+
+    private QualityGovernor() {
+        Preset saved;
+        try {
+            saved = Preset.valueOf(prefs.get(PREF_KEY, Preset.AUTO.name()));
+        } catch (IllegalArgumentException e) {
+            saved = Preset.AUTO;
+        }
+        applyPreset(saved);
+    }
+
+    // ===============================
+    // Presets
+    // ===============================
+    public void setPreset(Preset preset) {
+        applyPreset(preset);
+        prefs.put(PREF_KEY, preset.name());
+    }
+
+    private synchronized void applyPreset(Preset preset) {
+        this.preset = preset;
+        setTier(switch (preset) {
+            case LOW -> LOW;
+            case MEDIUM -> MEDIUM;
+            case HIGH, AUTO -> HIGH;
+            case ULTRA -> ULTRA;
+        });
+        resetWindow();
+        overWindows = 0;
+        underWindows = 0;
+    }
+
+    public Preset getPreset() { return preset; }
+
+    public Tier tier() { return TIERS[tierIndex]; }
+
+    // ===============================
+    // Measurement
+    // ===============================
+    public synchronized void recordTick(long nanos) {
+        tickNanos += nanos;
+    }
+
+    public synchronized void recordFrame(long nanos) {
+        frameNanos += nanos;
+        if (++frames < WINDOW) return;
+
+        long cost = (frameNanos + tickNanos) / frames;
+        lastCostNanos = cost;
+        resetWindow();
+        if (preset != Preset.AUTO) return;
+
+        if (cost > budgetNanos) {
+            underWindows = 0;
+            if (++overWindows >= DOWN_WINDOWS && tierIndex > 0) {
+                setTier(tierIndex - 1);
+                overWindows = 0;
+            }
+        } else if (cost < budgetNanos * HEADROOM) {
+            overWindows = 0;
+            if (++underWindows >= UP_WINDOWS && tierIndex < HIGH) {
+                setTier(tierIndex + 1);
+                underWindows = 0;
+            }
+        } else {
+            overWindows = 0;
+            underWindows = 0;
+        }
+    }
+
+    private void resetWindow() {
+        frameNanos = 0;
+        tickNanos = 0;
+        frames = 0;
+    }
+
+    private void setTier(int index) {
+        tierIndex = index;
+        // rain is EDT-owned
+        float density = TIERS[index].rainDensity;
+        SwingUtilities.invokeLater(() -> MatrixRain.shared().setQualityScale(density));
+    }
+
+    public long getBudgetNanos() { return budgetNanos; }
+    public long getLastCostNanos() { return lastCostNanos; }
+}
@@ -0,0 +1,226 @@
+package Main;
+
+import java.awt.image.BufferedImage;
+import java.util.List;
+
+/**
+ * RenderSnapshot
+ * Everything the arena draws for one tick, copied out of the simulation so the
+ * renderer never reads live game state.
+ *
+ * - Filled on the simulation thread ({@link #capture}, {@link #captureParticles}),
+ *   then handed to the renderer through a {@link TripleBuffer}. Once published it
+ *   is read-only until the buffer recycles it as a back slot.
+ * - Compact primitive arrays, grown on demand and never shrunk: capturing
+ *   allocates nothing once warmed up.
+ * - Images are carried as {@link SpriteRegistry} ids; effect state as flag bits.
+ *
+ * Readers use the public fields directly and must not write them.
+ */
+public final class RenderSnapshot {
+
+    // ===============================
+    // Effect flags
+    // ===============================
+    public static final int CLEAR_SKILL = 1;
+    public static final int TRAIL = 1 << 1;
+    public static final int SHIELD = 1 << 2;
+    public static final int TIME_STOP_FLASH = 1 << 3;
+    public static final int DASH_GHOST = 1 << 4;
+    public static final int PLAYER_RUNNING = 1 << 5;
+    public static final int PLAYER_FACING_RIGHT = 1 << 6;
+
+    public long tick;
+    public long clockMillis;
+    public int flags;
+
+    // Player
+    public int playerPrevX, playerPrevY, playerX, playerY;
+    public int playerWidth, playerHeight;
+    public int playerSprite = SpriteRegistry.NONE;
+    public int lives;
+    public double tiltAngle;      // clear skill rotation
+    public int dashOffsetX;       // dash ghost offset
+    public float pulseAlpha;      // clear skill explosion pulse (0 = none)
+
+    // Presentation counters (set by the arena, which owns them)
+    public int cameraShakeFrames, reviveVFXFrames, heartLossFrames;
+
+    // Projectiles (prev/current for interpolation)
+    public int projectileCount;
+    public float[] projectilePrevX = new float[0], projectilePrevY = new float[0];
+    public float[] projectileX = new float[0], projectileY = new float[0];
+    public int[] projectileSize = new int[0];
+    public byte[] projectileType = new byte[0];
+
+    // Clear skill targets still waiting
+    public int targetCount;
+    public int[] targetX = new int[0], targetY = new int[0], targetSize = new int[0];
+
+    // Blink ghosts
+    public int ghostCount;
+    public int[] ghostX = new int[0], ghostY = new int[0], ghostSprite = new int[0];
+    public float[] ghostAlpha = new float[0];
+
+    // Sandevistan trail (slot = position in the trail ring, drives the rainbow hue)
+    public int trailCount;
+    public int[] trailX = new int[0], trailY = new int[0], trailSprite = new int[0], trailSlot = new int[0];
+
+    // Particles (ParticleSystem sprite ids)
+    public int particleCount;
+    public float[] particleX = new float[0], particleY = new float[0];
+    public int[] particleSprite = new int[0];
+
+    public boolean has(int flag) {
+        return (flags & flag) != 0;
+    }
+
+    // ===============================
+    // Capture (simulation thread)
+    // ===============================
+    public void capture(Simulation simulation, SpriteRegistry sprites) {
+        GameManager manager = simulation.getManager();
+        Player player = simulation.getPlayer();
+        boolean clearSkill = manager.isClearSkillActive();
+
+        tick = manager.getClock().ticks();
+        clockMillis = manager.getClock().millis();
+
+        flags = 0;
+        if (clearSkill) flags |= CLEAR_SKILL;
+        if (manager.isSandevistanActive() || (clearSkill && manager.getClearSequenceStep() == 1)) flags |= TRAIL;
+        if (manager.isShieldActive()) flags |= SHIELD;
+        if (manager.isTimeStopActive() && manager.getFlashingFramesLeft() > 0) flags |= TIME_STOP_FLASH;
+        if (simulation.getDashFramesLeft() > 0 && !clearSkill) flags |= DASH_GHOST;
+        if (player.isRunning()) flags |= PLAYER_RUNNING;
+        if (player.isFacingRight()) flags |= PLAYER_FACING_RIGHT;
+
+        playerPrevX = player.getPrevX();
+        playerPrevY = player.getPrevY();
+        playerX = player.getX();
+        playerY = player.getY();
+        playerWidth = player.getWidth();
+        playerHeight = player.getHeight();
+        playerSprite = sprites.idOf(player.getCurrentFrame());
+        lives = player.getLives();
+        tiltAngle = manager.getCurrentTiltAngle();
+        dashOffsetX = simulation.getDashVelocityX();
+        pulseAlpha = clearSkill && manager.getClearSequenceStep() == 2 && manager.getCurrentTargetDestroyFramesLeft() > 0
+                ? manager.getClock().toReferenceFrames(manager.getCurrentTargetDestroyFramesLeft()) / 2f : 0f;
+
+        captureProjectiles(clearSkill ? null : manager.getProjectiles());
+        captureTargets(clearSkill ? manager.getClearTargets() : null, manager.getClearTargetIndex());
+        captureGhosts(manager.getBlinkGhosts(), sprites);
+        captureTrail(has(TRAIL) ? manager : null, sprites);
+    }
+
+    public void captureEffects(int cameraShakeFrames, int reviveVFXFrames, int heartLossFrames) {
+        this.cameraShakeFrames = cameraShakeFrames;
+        this.reviveVFXFrames = reviveVFXFrames;
+        this.heartLossFrames = heartLossFrames;
+    }
+
+    public void captureParticles(ParticleSystem particles) {
+        int n = particles.count();
+        if (particleX.length < n) {
+            int cap = grow(particleX.length, n);
+            particleX = new float[cap];
+            particleY = new float[cap];
+            particleSprite = new int[cap];
+        }
+        particleCount = particles.copyTo(particleX, particleY, particleSprite);
+    }
+
+    private void captureProjectiles(ProjectileBuffer buffer) {
+        int n = buffer == null ? 0 : buffer.count();
+        if (projectileX.length < n) {
+            int cap = grow(projectileX.length, n);
+            projectilePrevX = new float[cap];
+            projectilePrevY = new float[cap];
+            projectileX = new float[cap];
+            projectileY = new float[cap];
+            projectileSize = new int[cap];
+            projectileType = new byte[cap];
+        }
+        for (int i = 0; i < n; i++) {
+            projectilePrevX[i] = (float) buffer.getPrevX(i);
+            projectilePrevY[i] = (float) buffer.getPrevY(i);
+            projectileX[i] = (float) buffer.getExactX(i);
+            projectileY[i] = (float) buffer.getExactY(i);
+            projectileSize[i] = buffer.getSize(i);
+            projectileType[i] = (byte) buffer.getType(i);
+        }
+        projectileCount = n;
+    }
+
+    private void captureTargets(ProjectileBuffer targets, int from) {
+        int n = targets == null ? 0 : Math.max(0, targets.count() - from);
+        if (targetX.length < n) {
+            int cap = grow(targetX.length, n);
+            targetX = new int[cap];
+            targetY = new int[cap];
+            targetSize = new int[cap];
+        }
+        for (int k = 0; k < n; k++) {
+            targetX[k] = targets.getX(from + k);
+            targetY[k] = targets.getY(from + k);
+            targetSize[k] = targets.getSize(from + k);
+        }
+        targetCount = n;
+    }
+
+    private void captureGhosts(List<GameManager.BlinkGhost> ghosts, SpriteRegistry sprites) {
+        int n = ghosts.size();
+        if (ghostX.length < n) {
+            int cap = grow(ghostX.length, n);
+            ghostX = new int[cap];
+            ghostY = new int[cap];
+            ghostSprite = new int[cap];
+            ghostAlpha = new float[cap];
+        }
+        int k = 0;
+        for (int i = 0; i < n; i++) {
+            GameManager.BlinkGhost ghost = ghosts.get(i);
+            if (ghost.image == null) continue;
+            ghostX[k] = ghost.x;
+            ghostY[k] = ghost.y;
+            ghostSprite[k] = sprites.idOf(ghost.image);
+            ghostAlpha[k] = ghost.alpha;
+            k++;
+        }
+        ghostCount = k;
+    }
+
+    private void captureTrail(GameManager manager, SpriteRegistry sprites) {
+        trailCount = 0;
+        if (manager == null) return;
+        int n = manager.getTrailSize();
+        if (trailX.length < n) {
+            trailX = new int[n];
+            trailY = new int[n];
+            trailSprite = new int[n];
+            trailSlot = new int[n];
+        }
+        BufferedImage[] frames = manager.getTrailFrames();
+        int[][] positions = manager.getTrailPositions();
+        for (int i = 0; i < n; i++) {
+            if (frames[i] == null) continue;
+            int k = trailCount++;
+            trailX[k] = positions[i][0];
+            trailY[k] = positions[i][1];
+            trailSprite[k] = sprites.idOf(frames[i]);
+            trailSlot[k] = i;
+        }
+    }
+
+    private static int grow(int current, int needed) {
+        return Math.max(needed, Math.max(16, current + (current >> 1)));
+    }
+
+    // Position helpers (same rounding as Player/ProjectileBuffer)
+    public int playerRenderX(float alpha) { return Math.round(playerPrevX + (playerX - playerPrevX) * alpha); }
+    public int playerRenderY(float alpha) { return Math.round(playerPrevY + (playerY - playerPrevY) * alpha); }
+    public int projectileRenderX(int i, float alpha) { return (int) (projectilePrevX[i] + (projectileX[i] - projectilePrevX[i]) * alpha); }
+    public int projectileRenderY(int i, float alpha) { return (int) (projectilePrevY[i] + (projectileY[i] - projectilePrevY[i]) * alpha); }
+
+}
@@ -0,0 +1,307 @@
+package Main;
+
+import java.util.Random;
+
+/**
+ * Simulation
+ * Headless gameplay core: owns the GameManager, player physics (gravity,
+ * double jump, dash) and the revive slow-motion throttling.
+ *
+ * - No AWT, audio or display is needed to tick it; input comes from an
+ *   InputSource and visual reactions go out through a PresentationSink.
+ * - Time only moves when tick() advances the manager's GameClock, so headless
+ *   runs play out cooldowns and difficulty faster than real time.
+ * - GameArena drives it from the game loop; soak tests, benchmarks and bots
+ *   can drive it directly (see main()).
+ * - Speeds, gravity and frame counts are per 60 Hz tick and scaled by the
+ *   clock's tickScale; fractional pixels carry over to the next tick.
+ */
+public class Simulation {
+
+    public static final int DEFAULT_ARENA_WIDTH = 1024;
+    public static final int DEFAULT_ARENA_HEIGHT = 768;
+
+    private final GameManager manager;
+    private final Player player;
+
+    private InputSource input = InputSource.NONE;
+    private PresentationSink sink = PresentationSink.NONE;
+
+    private int arenaWidth = DEFAULT_ARENA_WIDTH;
+    private int arenaHeight = DEFAULT_ARENA_HEIGHT;
+
+    // Physics (per reference tick)
+    private int gravity = 1;
+    private int jumpStrength = -20;
+    private double velocityY = 0;
+
+    // Sub-pixel remainder of scaled movement (always 0 at 60 Hz)
+    private double carryX = 0, carryY = 0;
+
+    // Double jump
+    private int maxJumps = 2;
+    private int jumpsUsed = 0;
+
+    // Dash
+    private int dashDistance = 200;
+    private int dashCooldown = 1000;
+    private long lastDashTime = GameClock.NEVER;
+    private int dashVelocityX = 0;
+    private int dashDuration = 8;
+    private int dashFramesLeft = 0;
+
+    // Movement
+    private int moveSpeed = 5;
+
+    // Revive slow-motion (throttles manager updates)
+    private int slowMotionFrames = 0;
+    private int updateTickCounter = 0;
+
+    private int previousLives;
+
+    public Simulation(GameManager manager) {
+        this.manager = manager;
+        this.player = manager.getPlayer();
+        this.previousLives = player.getLives();
+    }
+
+    public void setInputSource(InputSource input) {
+        this.input = input != null ? input : InputSource.NONE;
+    }
+
+    public void setPresentationSink(PresentationSink sink) {
+        this.sink = sink != null ? sink : PresentationSink.NONE;
+        manager.setPresentationSink(this.sink);
+    }
+
+    public void setArenaSize(int width, int height) {
+        if (width <= 0 || height <= 0) return;
+        this.arenaWidth = width;
+        this.arenaHeight = height;
+    }
+
+    // ================================
+    // TICK
+    // ================================
+    public void tick() {
+        GameClock clock = manager.getClock();
+        clock.advance();
+        double k = clock.tickScale();
+        updateTickCounter++;
+        player.storePreviousPosition();
+
+        handleInput();
+
+        player.updateAnimation(k);
+
+        // revive trigger from manager (set for one frame)
+        if (manager.revivedThisFrame) {
+            slowMotionFrames = clock.scaleFrames(40); // slow-mo for a short duration (throttling)
+            manager.revivedThisFrame = false;
+            sink.onRevive();
+        }
+
+        // Physics & Movement
+        velocityY += gravity * k;
+        applyGravity(k);
+
+        boolean movingLeft = input.isHeld(InputSource.Action.LEFT);
+        boolean movingRight = input.isHeld(InputSource.Action.RIGHT);
+
+        // Movement - sandevistan adds half speed on top of the normal step
+        if (manager.isSandevistanActive()) {
+            if (manager.getSandevistanFramesLeft() > 0) {
+                int run = player.getSpeed() + (int) (moveSpeed * 0.5);
+                if (movingLeft && dashFramesLeft == 0) {
+                    player.moveLeft(-stepX(-run * k));
+                    player.setFacingLeft(true);
+                }
+                if (movingRight && dashFramesLeft == 0) {
+                    player.moveRight(stepX(run * k));
+                    player.setFacingLeft(false);
+                }
+            }
+        } else {
+            if (movingLeft && dashFramesLeft == 0) player.moveLeft(-stepX(-player.getSpeed() * k));
+            if (movingRight && dashFramesLeft == 0) player.moveRight(stepX(player.getSpeed() * k));
+        }
+        if (!movingLeft && !movingRight) player.stopRunning();
+
+        // Dash physics
+        if (dashFramesLeft > 0) {
+            player.setX(player.getX() + stepX(dashVelocityX * k));
+            dashFramesLeft--;
+            if (dashFramesLeft == 0) dashVelocityX = 0;
+        }
+
+        clampPlayerPosition();
+
+        // Projectiles + hits run after the player moved, so the hit test sweeps this tick's motion
+        // throttled manager.update for slow-motion: when slowMotionFrames > 0, call update every other tick
+        boolean shouldUpdateManager = true;
+        if (slowMotionFrames > 0) {
+            shouldUpdateManager = (updateTickCounter % 2 == 0);
+            slowMotionFrames--;
+        }
+        if (shouldUpdateManager) manager.update(arenaWidth, arenaHeight);
+
+        // Check for heart loss
+        int currentLives = player.getLives();
+        if (currentLives < previousLives) sink.onLifeLost(currentLives);
+        previousLives = currentLives;
+
+        sink.onTick();
+    }
+
+    private void handleInput() {
+        boolean left = input.consumePressed(InputSource.Action.LEFT);
+        boolean right = input.consumePressed(InputSource.Action.RIGHT);
+        boolean jump = input.consumePressed(InputSource.Action.JUMP);
+        boolean dash = input.consumePressed(InputSource.Action.DASH);
+        boolean skillR = input.consumePressed(InputSource.Action.SKILL_R);
+        boolean skillF = input.consumePressed(InputSource.Action.SKILL_F);
+        boolean skillV = input.consumePressed(InputSource.Action.SKILL_V);
+
+        // If cinematic ultimate active, presses are ignored
+        if (manager.isClearSkillActive()) return;
+
+        if (left) player.setFacingLeft(true);
+        if (right) player.setFacingLeft(false);
+
+        if (jump) {
+            manager.soundManager.playSound("jump");
+            if (jumpsUsed < maxJumps) {
+                velocityY = jumpStrength;
+                jumpsUsed++;
+            }
+        }
+        if (dash) dash();
+        if (skillR) manager.tryUseSkill(manager.getSkillR());
+        if (skillF) manager.tryUseSkill(manager.getSkillF());
+        if (skillV) manager.tryUseSkill(manager.getSkillV());
+    }
+
+    // ================================
+    // DASH
+    // ================================
+    private void dash() {
+        long now = manager.getClock().millis();
+        if (now - lastDashTime > dashCooldown) {
+            boolean movingLeft = input.isHeld(InputSource.Action.LEFT);
+            boolean movingRight = input.isHeld(InputSource.Action.RIGHT);
+            int dir = movingRight ? 1 : (movingLeft ? -1 : (player.isFacingLeft() ? -1 : 1));
+            dashVelocityX = dir * (dashDistance / dashDuration);
+            dashFramesLeft = manager.getClock().scaleFrames(dashDuration);
+            lastDashTime = now;
+        }
+    }
+
+    private void applyGravity(double k) {
+        int ny = player.getY() + stepY(velocityY * k);
+        int floor = arenaHeight - 20 - player.getHeight();
+        if (ny >= floor) {
+            ny = floor;
+            velocityY = 0;
+            carryY = 0;
+            jumpsUsed = 0;
+        }
+        player.setY(ny);
+    }
+
+    // Whole pixels of a scaled move; the fraction is kept for the next tick
+    private int stepX(double dx) {
+        carryX += dx;
+        int px = (int) carryX;
+        carryX -= px;
+        return px;
+    }
+
+    private int stepY(double dy) {
+        carryY += dy;
+        int px = (int) carryY;
+        carryY -= px;
+        return px;
+    }
+
+    private void clampPlayerPosition() {
+        int arenaLeft = 20;
+        int arenaTop = 20;
+        int arenaRight = arenaWidth - 20;
+        int arenaBottom = arenaHeight - 20;
+        if (player.getX() < arenaLeft) player.setX(arenaLeft);
+        if (player.getX() + player.getWidth() > arenaRight) player.setX(arenaRight - player.getWidth());
+        if (player.getY() < arenaTop) player.setY(arenaTop);
+        if (player.getY() + player.getHeight() > arenaBottom) player.setY(arenaBottom - player.getHeight());
+    }
+
+    // ================================
+    // Getters
+    // ================================
+    public GameManager getManager() { return manager; }
+    public Player getPlayer() { return player; }
+    public int getArenaWidth() { return arenaWidth; }
+    public int getArenaHeight() { return arenaHeight; }
+    public int getDashFramesLeft() { return dashFramesLeft; }
+    public int getDashVelocityX() { return dashVelocityX; }
+    public long getTickCount() { return manager.getClock().ticks(); }
+
+    // ---------------------------
+    // Headless bot input: random key mashing, deterministic for a given seed
+    // ---------------------------
+    public static class RandomInput implements InputSource {
+        private final Random random;
+        private boolean left, right;
+
+        public RandomInput(long seed) { this.random = new Random(seed); }
+
+        @Override
+        public boolean isHeld(Action action) {
+            return switch (action) {
+                case LEFT -> left;
+                case RIGHT -> right;
+                default -> false;
+            };
+        }
+
+        @Override
+        public boolean consumePressed(Action action) {
+            // LEFT is polled first each tick: re-roll the held direction there
+            if (action == Action.LEFT && random.nextInt(30) == 0) {
+                int d = random.nextInt(3);
+                left = d == 0;
+                right = d == 1;
+                return left;
+            }
+            if (action == Action.RIGHT) return false;
+            return random.nextInt(120) == 0;
+        }
+    }
+
+    // -------------------------
+    // Headless soak / benchmark runner
+    //   java -Djava.awt.headless=true -cp target/classes Main.Simulation [ticks] [seed] [off|deflect|annihilate]
+    // -------------------------
+    public static void main(String[] args) {
+        System.setProperty("java.awt.headless", "true");
+        long ticks = args.length > 0 ? Long.parseLong(args[0]) : 1_000_000L;
+        long seed = args.length > 1 ? Long.parseLong(args[1]) : 42L;
+
+        GameManager gm = new GameManager(SoundManager.silent());
+        gm.equipSkillToR(GameManager.SkillType.SHIELD);
+        gm.equipSkillToF(GameManager.SkillType.BLINK);
+        gm.equipSkillToV(GameManager.SkillType.REVIVE);
+        if (args.length > 2) {
+            gm.setProjectileCollisionMode(GameManager.ProjectileCollisionMode.valueOf(args[2].toUpperCase()));
+        }
+
+        Simulation sim = new Simulation(gm);
+        sim.setInputSource(new RandomInput(seed));
+
+        long start = System.nanoTime();
+        for (long i = 0; i < ticks; i++) sim.tick();
+        long elapsed = System.nanoTime() - start;
+
+        System.out.printf("%d ticks in %.1f ms (%.0f ticks/s), sim time %.1f s, lives=%d%n",
+                ticks, elapsed / 1e6, ticks / (elapsed / 1e9), gm.getClock().millis() / 1000.0, gm.getPlayer().getLives());
+    }
+}
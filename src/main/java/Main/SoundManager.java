@@ -10,6 +10,12 @@ public class SoundManager {
     private HashMap<String, Clip> soundMap = new HashMap<>();
 
     public SoundManager() {
+        this(true);
+    }
+
+    // loadClips=false gives a silent manager that never touches the audio system (headless runs)
+    private SoundManager(boolean loadClips) {
+        if (!loadClips) return;
         load("jump", "/sfx/retro-jump-1-236684.wav");
         load("hit", "/sfx/retro-explode-1-236678.wav");
         load("finalHit", "/sfx/retro-explode-2-236688.wav");
@@ -19,6 +25,10 @@ public class SoundManager {
         load("timestop", "/sfx/timestop.wav");
     }
 
+    public static SoundManager silent() {
+        return new SoundManager(false);
+    }
+
     private void load(String key, String path) {
         try {
             URL resource = getClass().getResource(path);
@@ -0,0 +1,172 @@
+package Main;
+
+import java.util.Arrays;
+
+/**
+ * SpatialGrid
+ * Uniform-grid broadphase over integer ids (e.g. ProjectileBuffer indices).
+ *
+ * - Each id is stored by its center point in exactly one cell, using intrusive
+ *   linked lists in primitive arrays (no per-entry objects).
+ * - Updates are incremental: {@link #update} only relinks an id when it crosses
+ *   into another cell, which for bullets is rare compared to the tick rate.
+ * - {@link #query} returns every id whose cell overlaps the box grown by the
+ *   query margin (the largest half-extent stored), so callers still run their
+ *   own narrowphase on the candidates.
+ */
+public class SpatialGrid {
+
+    private static final int NONE = -1;
+
+    private final int cellSize;
+    private int queryMargin;
+    private int cols = 1, rows = 1;
+
+    private int[] cellHead = new int[1];
+    private int[] next, prev, cellOf;
+
+    private int[] results = new int[64];
+
+    public SpatialGrid(int cellSize, int queryMargin, int initialCapacity) {
+        this.cellSize = cellSize;
+        this.queryMargin = queryMargin;
+        int cap = Math.max(16, initialCapacity);
+        next = new int[cap];
+        prev = new int[cap];
+        cellOf = new int[cap];
+        Arrays.fill(cellOf, NONE);
+        Arrays.fill(cellHead, NONE);
+    }
+
+    // ===============================
+    // Layout
+    // ===============================
+    // Resizes the grid to cover [0,width) x [0,height); returns true if the layout changed
+    // (all ids are dropped in that case and must be reinserted)
+    public boolean resize(int width, int height) {
+        int c = Math.max(1, (width + cellSize - 1) / cellSize);
+        int r = Math.max(1, (height + cellSize - 1) / cellSize);
+        if (c == cols && r == rows) return false;
+        cols = c;
+        rows = r;
+        cellHead = new int[cols * rows];
+        clear();
+        return true;
+    }
+
+    public void clear() {
+        Arrays.fill(cellHead, NONE);
+        Arrays.fill(cellOf, NONE);
+    }
+
+    public void setQueryMargin(int margin) { this.queryMargin = margin; }
+
+    private int cellIndex(double cx, double cy) {
+        int c = (int) cx / cellSize;
+        int r = (int) cy / cellSize;
+        if (c < 0) c = 0; else if (c >= cols) c = cols - 1;
+        if (r < 0) r = 0; else if (r >= rows) r = rows - 1;
+        return r * cols + c;
+    }
+
+    // ===============================
+    // Insert / Update / Remove
+    // ===============================
+    public void insert(int id, double cx, double cy) {
+        ensureCapacity(id + 1);
+        link(id, cellIndex(cx, cy));
+    }
+
+    public void update(int id, double cx, double cy) {
+        int cell = cellIndex(cx, cy);
+        int current = cellOf[id];
+        if (cell == current) return;
+        if (current != NONE) unlink(id);
+        link(id, cell);
+    }
+
+    public void remove(int id) {
+        if (id < cellOf.length && cellOf[id] != NONE) unlink(id);
+    }
+
+    // id 'from' now lives under the number 'to' (swap-remove); 'to' must be free
+    public void relabel(int from, int to) {
+        int cell = cellOf[from];
+        if (cell == NONE) return;
+        ensureCapacity(to + 1);
+        int p = prev[from], n = next[from];
+        prev[to] = p;
+        next[to] = n;
+        cellOf[to] = cell;
+        if (p != NONE) next[p] = to; else cellHead[cell] = to;
+        if (n != NONE) prev[n] = to;
+        cellOf[from] = NONE;
+    }
+
+    private void link(int id, int cell) {
+        int head = cellHead[cell];
+        prev[id] = NONE;
+        next[id] = head;
+        if (head != NONE) prev[head] = id;
+        cellHead[cell] = id;
+        cellOf[id] = cell;
+    }
+
+    private void unlink(int id) {
+        int cell = cellOf[id];
+        int p = prev[id], n = next[id];
+        if (p != NONE) next[p] = n; else cellHead[cell] = n;
+        if (n != NONE) prev[n] = p;
+        cellOf[id] = NONE;
+    }
+
+    private void ensureCapacity(int needed) {
+        if (needed <= next.length) return;
+        int old = next.length;
+        int cap = Math.max(needed, old * 2);
+        next = Arrays.copyOf(next, cap);
+        prev = Arrays.copyOf(prev, cap);
+        cellOf = Arrays.copyOf(cellOf, cap);
+        Arrays.fill(cellOf, old, cap, NONE);
+    }
+
+    // ===============================
+    // Query
+    // ===============================
+    /**
+     * Collects candidate ids for the box [minX,maxX] x [minY,maxY].
+     * Results are valid until the next query; read them with {@link #getResult(int)}.
+     * @return number of candidates
+     */
+    public int query(int minX, int minY, int maxX, int maxY) {
+        int c0 = Math.max(0, (minX - queryMargin) / cellSize);
+        int r0 = Math.max(0, (minY - queryMargin) / cellSize);
+        int c1 = Math.min(cols - 1, (maxX + queryMargin) / cellSize);
+        int r1 = Math.min(rows - 1, (maxY + queryMargin) / cellSize);
+        // ids outside the grid are clamped into the border cells, so keep at least those
+        c0 = Math.min(c0, cols - 1);
+        r0 = Math.min(r0, rows - 1);
+        c1 = Math.max(c1, 0);
+        r1 = Math.max(r1, 0);
+
+        int n = 0;
+        for (int r = r0; r <= r1; r++) {
+            for (int c = c0; c <= c1; c++) {
+                for (int id = cellHead[r * cols + c]; id != NONE; id = next[id]) {
+                    if (n == results.length) results = Arrays.copyOf(results, n * 2);
+                    results[n++] = id;
+                }
+            }
+        }
+        return n;
+    }
+
+    public int getResult(int i) { return results[i]; }
+
+    // Direct access to the result array (first query() entries are valid)
+    public int[] getResults() { return results; }
+
+    public int getCellSize() { return cellSize; }
+    public int getColumns() { return cols; }
+    public int getRows() { return rows; }
+}
@@ -0,0 +1,43 @@
+package Main;
+
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * SpriteRegistry
+ * Stable int ids for the shared sprite frames (player animations, ghost and
+ * trail frames), so render snapshots can carry ids instead of image references.
+ *
+ * - Ids are assigned on first use by identity and never change or get reused.
+ * - {@link #get(int)} is a plain array read; the table is copy-on-grow and
+ *   published through a volatile field, so any thread can look ids up.
+ * - Registered images must not be drawn into afterwards.
+ */
+public final class SpriteRegistry {
+
+    public static final int NONE = -1;
+
+    private final Map<BufferedImage, Integer> ids = new IdentityHashMap<>();
+    private volatile BufferedImage[] sprites = new BufferedImage[16];
+    private int count = 0;
+
+    public synchronized int idOf(BufferedImage image) {
+        if (image == null) return NONE;
+        Integer id = ids.get(image);
+        if (id != null) return id;
+        BufferedImage[] table = sprites;
+        if (count == table.length) table = Arrays.copyOf(table, count * 2);
+        table[count] = image;
+        sprites = table; // publish (also after an in-place store)
+        ids.put(image, count);
+        return count++;
+    }
+
+    public BufferedImage get(int id) {
+        return id < 0 ? null : sprites[id];
+    }
+
+    public synchronized int size() { return count; }
+}
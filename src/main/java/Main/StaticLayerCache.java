@@ -0,0 +1,109 @@
+package Main;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * StaticLayerCache
+ * Layers that only change with the panel size (arena border, floor line,
+ * backgrounds, decorations) rendered once into an opaque compatible image.
+ *
+ * - Layers paint in the order they were added, over the background color.
+ * - The image is rebuilt when the size changes or after {@link #invalidate()}.
+ * - {@link #draw} covers the whole area, so it also replaces the per-frame clear;
+ *   dynamic layers are drawn on top of it. {@link #record} does the same into a DrawList.
+ *
+ * draw() may run on several threads at once (band rendering); the rebuild is synchronized.
+ */
+public class StaticLayerCache {
+
+    public interface Layer {
+        void paint(Graphics2D g, int width, int height);
+    }
+
+    private interface Fill {
+        void fillRect(int x, int y, int width, int height);
+    }
+
+    private final List<Layer> layers = new ArrayList<>();
+    private final Color background;
+    private BufferedImage image;
+    private volatile boolean valid = false;
+
+    public StaticLayerCache(Color background) {
+        this.background = background;
+    }
+
+    public StaticLayerCache add(Layer layer) {
+        layers.add(layer);
+        valid = false;
+        return this;
+    }
+
+    // Forces a rebuild on the next draw (e.g. a decoration changed)
+    public void invalidate() {
+        valid = false;
+    }
+
+    /**
+     * Blits the cached layers at (x, y). With a non-zero offset (camera shake)
+     * the uncovered strips are cleared to the background first.
+     */
+    public void draw(Graphics g, int x, int y, int width, int height) {
+        if (width <= 0 || height <= 0) return;
+        BufferedImage image = ensure(width, height);
+        if (x != 0 || y != 0) {
+            g.setColor(background);
+            clearUncovered(x, y, width, height, g::fillRect);
+        }
+        g.drawImage(image, x, y, null);
+    }
+
+    // Same as draw(), recorded into a frame's draw list (on the recording thread)
+    public void record(DrawList d, int x, int y, int width, int height) {
+        if (width <= 0 || height <= 0) return;
+        BufferedImage image = ensure(width, height);
+        if (x != 0 || y != 0) {
+            d.color(background);
+            clearUncovered(x, y, width, height, d::fillRect);
+        }
+        d.blit(image, x, y);
+    }
+
+    // The strips of (0, 0, width, height) not covered by the image blitted at (x, y):
+    // one full-width strip above/below, one side strip over the remaining rows
+    private static void clearUncovered(int x, int y, int width, int height, Fill fill) {
+        int top = Math.max(0, y), bottom = Math.min(height, height + y);
+        if (y > 0) fill.fillRect(0, 0, width, Math.min(height, y));
+        if (y < 0) fill.fillRect(0, Math.max(0, bottom), width, height - Math.max(0, bottom));
+        if (bottom <= top) return;
+        if (x > 0) fill.fillRect(0, top, Math.min(width, x), bottom - top);
+        if (x < 0) fill.fillRect(Math.max(0, width + x), top, width - Math.max(0, width + x), bottom - top);
+    }
+
+    private synchronized BufferedImage ensure(int width, int height) {
+        if (!valid || image == null || image.getWidth() != width || image.getHeight() != height) {
+            rebuild(width, height);
+        }
+        return image;
+    }
+
+    private void rebuild(int width, int height) {
+        if (image == null || image.getWidth() != width || image.getHeight() != height) {
+            if (image != null) image.flush();
+            image = ImageAssets.createCompatible(width, height, Transparency.OPAQUE);
+        }
+        valid = true;
+        Graphics2D g = image.createGraphics();
+        g.setColor(background);
+        g.fillRect(0, 0, width, height);
+        for (Layer layer : layers) {
+            Graphics2D lg = (Graphics2D) g.create();
+            layer.paint(lg, width, height);
+            lg.dispose();
+        }
+        g.dispose();
+    }
+}
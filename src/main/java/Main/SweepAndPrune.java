@@ -0,0 +1,98 @@
+package Main;
+
+import java.util.Arrays;
+
+/**
+ * SweepAndPrune
+ * Sort-and-sweep broadphase for projectile-vs-projectile collisions.
+ *
+ * - Keeps the projectile indices sorted by their left edge between ticks.
+ *   Bullets move a few pixels per tick, so the order is nearly sorted and an
+ *   insertion sort fixes it in close to linear time.
+ * - The sweep then walks the sorted order and only pairs projectiles whose
+ *   x-intervals overlap; pairs are filtered by circle overlap before being reported.
+ * - Swap-removes in the ProjectileBuffer just rename indices; {@link #sync} drops
+ *   ids that no longer exist and appends new ones, the sort repairs the rest.
+ */
+public class SweepAndPrune {
+
+    private int[] order = new int[256];
+    private double[] keys = new double[256];
+    private int size = 0;
+
+    // found pairs (i, j) stored flat
+    private int[] pairs = new int[128];
+    private int pairCount = 0;
+
+    /**
+     * Runs the broadphase + circle test on the buffer.
+     * @return number of overlapping pairs (read them with {@link #getPairA}/{@link #getPairB})
+     */
+    public int findPairs(ProjectileBuffer buffer) {
+        sync(buffer.count());
+        sort(buffer);
+        sweep(buffer);
+        return pairCount;
+    }
+
+    public int getPairA(int p) { return pairs[p * 2]; }
+    public int getPairB(int p) { return pairs[p * 2 + 1]; }
+
+    // The live ids are always 0..count-1: keep the ones that still exist, append the rest
+    private void sync(int count) {
+        int kept = 0;
+        for (int k = 0; k < size; k++) {
+            if (order[k] < count) order[kept++] = order[k];
+        }
+        if (order.length < count) {
+            order = Arrays.copyOf(order, Math.max(count, order.length * 2));
+            keys = new double[order.length];
+        }
+        for (int id = kept; id < count; id++) order[id] = id;
+        size = count;
+    }
+
+    // Insertion sort by left edge; cheap because last tick's order is almost right
+    private void sort(ProjectileBuffer buffer) {
+        for (int k = 0; k < size; k++) keys[k] = buffer.getExactX(order[k]);
+        for (int k = 1; k < size; k++) {
+            double key = keys[k];
+            int id = order[k];
+            int m = k - 1;
+            while (m >= 0 && keys[m] > key) {
+                keys[m + 1] = keys[m];
+                order[m + 1] = order[m];
+                m--;
+            }
+            keys[m + 1] = key;
+            order[m + 1] = id;
+        }
+    }
+
+    private void sweep(ProjectileBuffer buffer) {
+        pairCount = 0;
+        for (int k = 0; k < size; k++) {
+            int a = order[k];
+            int sizeA = buffer.getSize(a);
+            double maxX = keys[k] + sizeA;
+            double ay = buffer.getExactY(a);
+            for (int m = k + 1; m < size && keys[m] <= maxX; m++) {
+                int b = order[m];
+                int sizeB = buffer.getSize(b);
+                double by = buffer.getExactY(b);
+                if (by > ay + sizeA || ay > by + sizeB) continue;
+
+                // narrowphase: circles
+                double dx = (keys[m] + sizeB / 2.0) - (keys[k] + sizeA / 2.0);
+                double dy = (by + sizeB / 2.0) - (ay + sizeA / 2.0);
+                double reach = (sizeA + sizeB) / 2.0;
+                if (dx * dx + dy * dy >= reach * reach) continue;
+
+                if ((pairCount + 1) * 2 > pairs.length) pairs = Arrays.copyOf(pairs, pairs.length * 2);
+                pairs[pairCount * 2] = a;
+                pairs[pairCount * 2 + 1] = b;
+                pairCount++;
+            }
+        }
+    }
+}
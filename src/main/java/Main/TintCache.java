@@ -0,0 +1,155 @@
+package Main;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * TintCache
+ * LRU cache of color-tinted copies of sprite frames (blink ghosts, Sandevistan
+ * trail, heart flashes), so paint no longer allocates an image per tint.
+ *
+ * - Key = (source frame identity, tint RGB, tint alpha quantized to 16 levels).
+ * - Bounded by a byte budget (4 bytes per pixel); least recently used entries
+ *   are evicted first.
+ * - Hit/miss/eviction counters show whether the budget fits the working set.
+ * - {@link #rainbow(float)} snaps hues to a fixed palette so rainbow tints are
+ *   cacheable too.
+ * - Thread-safe; misses render under the lock, which is rare once the working
+ *   set is cached.
+ */
+public class TintCache {
+
+    public static final long DEFAULT_BUDGET_BYTES = 16L * 1024 * 1024;
+
+    private static final int ALPHA_LEVELS = 16;
+
+    // Rainbow tints snap to this many hues
+    public static final int RAINBOW_STEPS = 32;
+    private static final Color[] RAINBOW = new Color[RAINBOW_STEPS];
+    static {
+        for (int i = 0; i < RAINBOW_STEPS; i++) RAINBOW[i] = Color.getHSBColor(i / (float) RAINBOW_STEPS, 1f, 1f);
+    }
+
+    private final long budgetBytes;
+    private long bytes = 0;
+    private final LinkedHashMap<Key, BufferedImage> entries = new LinkedHashMap<>(64, 0.75f, true);
+    private final Key probe = new Key();
+
+    // stats
+    private long hits = 0;
+    private long misses = 0;
+    private long evictions = 0;
+
+    public TintCache(long budgetBytes) {
+        this.budgetBytes = budgetBytes;
+    }
+
+    public TintCache() {
+        this(DEFAULT_BUDGET_BYTES);
+    }
+
+    /**
+     * Returns src with tint painted over its opaque pixels (SrcAtop at the given
+     * alpha), creating and caching it on first use.
+     */
+    public synchronized BufferedImage get(BufferedImage src, Color tint, float alpha) {
+        int level = Math.max(1, Math.min(ALPHA_LEVELS, Math.round(alpha * ALPHA_LEVELS)));
+        probe.set(src, tint.getRGB() & 0xFFFFFF, level);
+        BufferedImage img = entries.get(probe);
+        probe.src = null; // don't pin the frame from the probe
+        if (img != null) {
+            hits++;
+            return img;
+        }
+        misses++;
+        img = render(src, tint, level / (float) ALPHA_LEVELS);
+        entries.put(new Key().set(src, probe.rgb, level), img);
+        bytes += sizeOf(img);
+        evict();
+        return img;
+    }
+
+    private static BufferedImage render(BufferedImage src, Color tint, float alpha) {
+        BufferedImage tinted = ImageAssets.createCompatible(src.getWidth(), src.getHeight());
+        Graphics2D tg = tinted.createGraphics();
+        tg.drawImage(src, 0, 0, null);
+        tg.setComposite(AlphaComposite.SrcAtop.derive(alpha));
+        tg.setColor(tint);
+        tg.fillRect(0, 0, tinted.getWidth(), tinted.getHeight());
+        tg.dispose();
+        return tinted;
+    }
+
+    // Drop least recently used entries until we are back under budget (keep at least one)
+    private void evict() {
+        Iterator<Map.Entry<Key, BufferedImage>> it = entries.entrySet().iterator();
+        while (bytes > budgetBytes && entries.size() > 1 && it.hasNext()) {
+            bytes -= sizeOf(it.next().getValue());
+            it.remove();
+            evictions++;
+        }
+    }
+
+    private static long sizeOf(BufferedImage img) {
+        return 4L * img.getWidth() * img.getHeight();
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+        bytes = 0;
+    }
+
+    // ===============================
+    // Rainbow palette
+    // ===============================
+    // hue in turns (any value; wrapped to [0,1))
+    public static Color rainbow(float hue) {
+        float h = hue - (float) Math.floor(hue);
+        return RAINBOW[(int) (h * RAINBOW_STEPS) % RAINBOW_STEPS];
+    }
+
+    // ===============================
+    // Stats
+    // ===============================
+    public synchronized long getHits() { return hits; }
+    public synchronized long getMisses() { return misses; }
+    public synchronized long getEvictions() { return evictions; }
+    public synchronized long getBytes() { return bytes; }
+    public long getBudgetBytes() { return budgetBytes; }
+    public synchronized int size() { return entries.size(); }
+
+    @Override
+    public synchronized String toString() {
+        return "TintCache[entries=" + entries.size() + ", bytes=" + bytes + "/" + budgetBytes
+                + ", hits=" + hits + ", misses=" + misses + ", evictions=" + evictions + "]";
+    }
+
+    // Source frames are compared by identity: every frame object is a distinct sprite
+    private static final class Key {
+        BufferedImage src;
+        int rgb;
+        int level;
+
+        Key set(BufferedImage src, int rgb, int level) {
+            this.src = src;
+            this.rgb = rgb;
+            this.level = level;
+            return this;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Key)) return false;
+            Key k = (Key) o;
+            return k.src == src && k.rgb == rgb && k.level == level;
+        }
+
+        @Override
+        public int hashCode() {
+            return (System.identityHashCode(src) * 31 + rgb) * 31 + level;
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package Main;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * TripleBuffer
+ * Lock-free hand-off of whole frames from one writer thread to one reader thread.
+ *
+ * - Three slots: the writer fills {@link #back()}, then {@link #publish()} swaps
+ *   it with the shared middle slot; the reader's {@link #acquire()} swaps the
+ *   middle slot with its front slot when something new was published.
+ * - Neither side ever waits: the writer overwrites an unread middle frame, the
+ *   reader keeps its current front frame when nothing new arrived.
+ * - The atomic swap orders the writer's stores before the reader's loads, so the
+ *   slots themselves need no synchronization.
+ *
+ * Exactly one writer thread and one reader thread (or readers serialized by the caller).
+ */
+public final class TripleBuffer<T> {
+
+    private static final int FRESH = 4; // middle slot holds an unread frame
+    private static final int INDEX = 3;
+
+    private final Object[] slots = new Object[3];
+    private final AtomicInteger middle = new AtomicInteger(1);
+    private int back = 2;  // writer only
+    private int front = 0; // reader only
+
+    public TripleBuffer(Supplier<T> factory) {
+        for (int i = 0; i < 3; i++) slots[i] = factory.get();
+    }
+
+    // Writer: the slot to fill next
+    @SuppressWarnings("unchecked")
+    public T back() {
+        return (T) slots[back];
+    }
+
+    // Writer: hands the filled back slot to the reader
+    public void publish() {
+        back = middle.getAndSet(back | FRESH) & INDEX;
+    }
+
+    // Reader: the latest published frame (the same one again if nothing new)
+    @SuppressWarnings("unchecked")
+    public T acquire() {
+        if ((middle.get() & FRESH) != 0) front = middle.getAndSet(front) & INDEX;
+        return (T) slots[front];
+    }
+}
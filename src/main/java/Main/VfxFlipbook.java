@@ -0,0 +1,68 @@
+package Main;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+
+/**
+ * VfxFlipbook
+ * One procedural effect rendered once into a sequence of frames, so playback
+ * is an indexed (optionally tinted and scaled) blit instead of shapes,
+ * gradients and composites every paint.
+ *
+ * - The painter draws frame i at t = i / (frames - 1) on a transparent
+ *   width x height canvas; t is whatever drives the effect (progress, alpha).
+ * - {@link #frame(float)} picks the nearest frame for a t in [0, 1].
+ * - {@link #record} places a frame centered on a point at any scale; tint by
+ *   passing a TintCache copy of the frame (bake tintable effects in white).
+ * - Frames are shared: callers must not draw into them.
+ */
+public final class VfxFlipbook {
+
+    /** Draws the effect at t in [0, 1] onto a cleared width x height canvas. */
+    public interface Painter {
+        void paint(Graphics2D g, int width, int height, float t);
+    }
+
+    private final String name;
+    private final BufferedImage[] frames;
+
+    private VfxFlipbook(String name, BufferedImage[] frames) {
+        this.name = name;
+        this.frames = frames;
+    }
+
+    public static VfxFlipbook bake(String name, int frameCount, int width, int height, Painter painter) {
+        if (frameCount < 1) throw new IllegalArgumentException("flipbook needs at least one frame");
+        BufferedImage[] frames = new BufferedImage[frameCount];
+        for (int i = 0; i < frameCount; i++) {
+            frames[i] = ImageAssets.createCompatible(width, height);
+            Graphics2D g = frames[i].createGraphics();
+            g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            painter.paint(g, width, height, frameCount == 1 ? 1f : i / (float) (frameCount - 1));
+            g.dispose();
+        }
+        return new VfxFlipbook(name, frames);
+    }
+
+    // ===============================
+    // Playback
+    // ===============================
+    public BufferedImage frame(float t) {
+        int i = Math.round(Math.max(0f, Math.min(1f, t)) * (frames.length - 1));
+        return frames[i];
+    }
+
+    // Blits frame (one of ours, or a tinted copy) centered on (cx, cy) at scaleX x scaleY
+    public void record(DrawList d, BufferedImage frame, int cx, int cy, float scaleX, float scaleY) {
+        int w = Math.round(frame.getWidth() * scaleX);
+        int h = Math.round(frame.getHeight() * scaleY);
+        if (w <= 0 || h <= 0) return;
+        d.blit(frame, cx - w / 2, cy - h / 2, w, h);
+    }
+
+    public String getName() { return name; }
+    public int frameCount() { return frames.length; }
+    public int getWidth() { return frames[0].getWidth(); }
+    public int getHeight() { return frames[0].getHeight(); }
+}
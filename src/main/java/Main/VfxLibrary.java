@@ -0,0 +1,106 @@
+package Main;
+
+import java.awt.*;
+import java.awt.geom.Ellipse2D;
+
+/**
+ * VfxLibrary
+ * The game's flipbook effects, baked once on a background thread at startup.
+ *
+ * - Revive beam: the white -> violet GradientPaint column, one frame per
+ *   progress step; stretched to the beam length at playback.
+ * - Revive pulse: the expanding soft disk, baked white and tinted per instance.
+ * - Revive wings: both wings plus the halo at the default 64x64 player size,
+ *   one frame per fade level; scaled to the actual player size.
+ * - Time-stop flash: a small white swatch per flash alpha, tinted with the
+ *   rainbow color and stretched over the arena.
+ *
+ * {@link #shared()} starts the bake (Main calls it before the splash screen).
+ * Nothing waits for it: getters return null until {@link #isReady()}, and the
+ * renderer draws the effects procedurally until then (or for good if the bake
+ * failed).
+ */
+public final class VfxLibrary {
+
+    public static final int WING_REFERENCE_WIDTH = 64;
+    public static final int WING_REFERENCE_HEIGHT = 64;
+    public static final int PULSE_MAX_DIAMETER = 120;
+    private static final int BEAM_WIDTH = 16;
+    private static final int BEAM_HEIGHT = 256;
+
+    private static VfxLibrary shared;
+
+    public static synchronized VfxLibrary shared() {
+        if (shared == null) shared = new VfxLibrary();
+        return shared;
+    }
+
+    // written by the bake thread before the volatile ready flag publishes them
+    private VfxFlipbook reviveBeam, revivePulse, reviveWings, timeStopFlash;
+    private volatile boolean ready = false;
+
+    private VfxLibrary() {
+        Thread baker = new Thread(this::bake, "vfx-bake");
+        baker.setDaemon(true);
+        baker.setPriority(Thread.MIN_PRIORITY);
+        baker.start();
+    }
+
+    // ===============================
+    // Bake
+    // ===============================
+    private void bake() {
+        try {
+            reviveBeam = VfxFlipbook.bake("reviveBeam", 16, BEAM_WIDTH, BEAM_HEIGHT, (g, w, h, progress) -> {
+                g.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, 0.7f * progress));
+                g.setPaint(new GradientPaint(0, 0, new Color(255, 255, 255, (int) (255 * progress)),
+                        0, h, new Color(150, 100, 255, 0)));
+                g.fillRect(0, 0, w, h);
+            });
+
+            int pulseSize = PULSE_MAX_DIAMETER + 2;
+            revivePulse = VfxFlipbook.bake("revivePulse", 24, pulseSize, pulseSize, (g, w, h, progress) -> {
+                float d = PULSE_MAX_DIAMETER * (1f - progress);
+                g.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, (1f - progress) * 0.9f));
+                g.setColor(new Color(255, 255, 255, (int) (180 * (1f - progress))));
+                g.fill(new Ellipse2D.Float((w - d) / 2f, (h - d) / 2f, d, d));
+            });
+
+            int wingW = WING_REFERENCE_WIDTH + 40, wingH = WING_REFERENCE_HEIGHT + 30;
+            reviveWings = VfxFlipbook.bake("reviveWings", 16, wingW * 2 + 2, wingH + 2, (g, w, h, fade) -> {
+                int cx = w / 2, cy = h / 2;
+                g.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, 0.5f * fade));
+                g.setColor(new Color(200, 100, 255, (int) (220 * fade)));
+                g.fillPolygon(new int[]{cx - 10, cx - wingW / 2, cx - wingW / 2 - 20},
+                        new int[]{cy - 10, cy - wingH / 2, cy + wingH / 3}, 3);
+                g.setColor(new Color(100, 200, 255, (int) (200 * fade)));
+                g.fillPolygon(new int[]{cx + 10, cx + wingW / 2, cx + wingW / 2 + 20},
+                        new int[]{cy - 10, cy - wingH / 2, cy + wingH / 3}, 3);
+                // soft halo
+                g.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, 0.2f * fade));
+                g.setColor(new Color(255, 255, 255, 60));
+                g.fillOval(cx - wingW, cy - wingH / 2, wingW * 2, wingH);
+            });
+
+            timeStopFlash = VfxFlipbook.bake("timeStopFlash", 32, 4, 4, (g, w, h, alpha) -> {
+                g.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, alpha));
+                g.setColor(Color.WHITE);
+                g.fillRect(0, 0, w, h);
+            });
+            ready = true;
+        } catch (RuntimeException e) {
+            System.out.println("Failed to bake effect flipbooks — continuing without them.");
+            e.printStackTrace();
+        }
+    }
+
+    // ===============================
+    // Effects
+    // ===============================
+    // null until isReady()
+    public VfxFlipbook reviveBeam() { return ready ? reviveBeam : null; }
+    public VfxFlipbook revivePulse() { return ready ? revivePulse : null; }
+    public VfxFlipbook reviveWings() { return ready ? reviveWings : null; }
+    public VfxFlipbook timeStopFlash() { return ready ? timeStopFlash : null; }
+    public boolean isReady() { return ready; }
+}